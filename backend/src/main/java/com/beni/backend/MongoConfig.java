@@ -0,0 +1,60 @@
+package com.beni.backend;
+
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+/**
+ * Stores the booking status enums as their lowercase values (the same strings the documents held
+ * before the fields were typed) instead of the enum constant names.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                new BookingStatusWriter(), new BookingStatusReader(),
+                new PaymentStatusWriter(), new PaymentStatusReader()));
+    }
+
+    @WritingConverter
+    static class BookingStatusWriter implements Converter<BookingStatus, String> {
+        @Override
+        public String convert(@NonNull BookingStatus source) {
+            return source.getValue();
+        }
+    }
+
+    @ReadingConverter
+    static class BookingStatusReader implements Converter<String, BookingStatus> {
+        @Override
+        public BookingStatus convert(@NonNull String source) {
+            return BookingStatus.parse(source);
+        }
+    }
+
+    @WritingConverter
+    static class PaymentStatusWriter implements Converter<PaymentStatus, String> {
+        @Override
+        public String convert(@NonNull PaymentStatus source) {
+            return source.getValue();
+        }
+    }
+
+    @ReadingConverter
+    static class PaymentStatusReader implements Converter<String, PaymentStatus> {
+        @Override
+        public PaymentStatus convert(@NonNull String source) {
+            return PaymentStatus.parse(source);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.beni.backend;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
@@ -20,14 +19,8 @@ public class WebConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH")
                 .allowedHeaders("*")
+                .exposedHeaders("X-Total-Count")
                 .allowCredentials(true);
     }
-
-    @Override
-    public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:C:\\Users\\gdinu\\OneDrive\\Documents\\projects\\PMS\\backend\\uploads")
-                .setCachePeriod(3600);
-    }
 }
 
@@ -1,8 +1,11 @@
 package com.beni.backend.albumAndPorfilio.controller;
 
 import com.beni.backend.albumAndPorfilio.model.Album;
+import com.beni.backend.albumAndPorfilio.model.AlbumImagePage;
+import com.beni.backend.albumAndPorfilio.model.AlbumSummary;
 import com.beni.backend.albumAndPorfilio.service.AlbumService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -13,6 +16,8 @@ import java.util.List;
 @RequestMapping("/api/albums")
 public class AlbumController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private AlbumService albumService;
 
@@ -34,6 +39,28 @@ public class AlbumController {
         return albumService.getAllAlbums();
     }
 
+    // Album list without image arrays; the total count is returned in X-Total-Count
+    @GetMapping("/summaries")
+    public ResponseEntity<List<AlbumSummary>> getAlbumSummaries(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "24") int size) {
+        Page<AlbumSummary> result = albumService.getAlbumSummaries(
+                category, status, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
+    }
+
+    @GetMapping("/{id}/images")
+    public AlbumImagePage getAlbumImages(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        return albumService.getAlbumImages(id, Math.max(offset, 0), Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
     @GetMapping("/{id}")
     public Album getAlbum(@PathVariable String id) {
 
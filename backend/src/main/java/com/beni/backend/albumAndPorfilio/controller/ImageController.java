@@ -0,0 +1,91 @@
+package com.beni.backend.albumAndPorfilio.controller;
+
+import com.beni.backend.albumAndPorfilio.service.ImageDeliveryService;
+import com.beni.backend.albumAndPorfilio.service.ImageDerivativeService;
+import com.beni.backend.storage.service.BlobStoreService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+public class ImageController {
+
+    // Content-hashed names never change their bytes, so browsers and CDNs may keep them indefinitely
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private BlobStoreService blobStoreService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private ImageDeliveryService imageDeliveryService;
+
+    @Value("${storage.cache-max-age-seconds:3600}")
+    private long cacheMaxAgeSeconds;
+
+    // Serve an uploaded image, optionally resized (size = thumb, grid or lightbox); falls back to the original
+    @GetMapping({"/uploads/{filename:.+}", "/api/images/{filename:.+}"})
+    public void getImage(
+            @PathVariable String filename,
+            @RequestParam(required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Path original;
+        try {
+            original = blobStoreService.resolve(filename);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        Path served = original;
+        ImageDerivativeService.Size variant = ImageDerivativeService.Size.fromName(size);
+        boolean fallback = false;
+        if (variant != null) {
+            Path resized = original.resolveSibling(imageDerivativeService.variantName(filename, variant));
+            if (Files.isRegularFile(resized)) {
+                served = resized;
+            } else {
+                fallback = true;
+            }
+        }
+        if (!Files.isRegularFile(served) && variant == null) {
+            // A variant name recorded on an album or portfolio whose file was not (yet) generated
+            Path source = imageDerivativeService.originalOf(original);
+            if (source != null) {
+                served = source;
+                fallback = true;
+            }
+        }
+        if (!Files.isRegularFile(served)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String hash = blobStoreService.contentHash(filename);
+        String etag;
+        String cacheControl;
+        if (fallback && variant == null) {
+            etag = "W/\"" + Files.size(served) + "-" + Files.getLastModifiedTime(served).toMillis() + "\"";
+            cacheControl = "public, max-age=60";
+        } else if (hash != null) {
+            etag = "\"" + hash + (served != original ? "-" + variant.suffix() : "") + "\"";
+            // A missing variant is only temporary, so don't pin the original under the variant URL
+            cacheControl = fallback ? "public, max-age=60" : IMMUTABLE;
+        } else {
+            // Files stored before content addressing
+            etag = "W/\"" + Files.size(served) + "-" + Files.getLastModifiedTime(served).toMillis() + "\"";
+            cacheControl = "public, max-age=" + cacheMaxAgeSeconds;
+        }
+
+        imageDeliveryService.serve(served, etag, cacheControl, request, response);
+    }
+}
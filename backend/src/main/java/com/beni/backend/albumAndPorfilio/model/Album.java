@@ -5,12 +5,19 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 import java.util.List;
 
 @Document(collection = "albums")
+@CompoundIndexes({
+        @CompoundIndex(name = "releaseDate_id", def = "{'releaseDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "category_releaseDate_id", def = "{'category': 1, 'releaseDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_releaseDate_id", def = "{'status': 1, 'releaseDate': -1, '_id': -1}")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -23,6 +30,8 @@ public class Album {
     private String description;
     private List<String> images;
     private String coverImage;
+    private List<ImageVariants> imageVariants; // Resized copies of images, in the same order
+    private ImageVariants coverImageVariants;
     private String category;
     private String location;
     private String status;
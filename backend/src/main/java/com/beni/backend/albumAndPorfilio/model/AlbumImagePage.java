@@ -0,0 +1,21 @@
+package com.beni.backend.albumAndPorfilio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// A slice of one album's images, with the total so clients can page through them
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class AlbumImagePage {
+
+    private String id;
+    private List<String> images;
+    private List<ImageVariants> imageVariants;
+    private int offset;
+    private int total;
+}
@@ -0,0 +1,25 @@
+package com.beni.backend.albumAndPorfilio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// Album fields needed by list views; the image arrays are replaced by their size
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class AlbumSummary {
+
+    private String id;
+    private String name;
+    private String category;
+    private String location;
+    private String status;
+    private String coverImage;
+    private ImageVariants coverImageVariants;
+    private int imageCount;
+    private Date releaseDate;
+}
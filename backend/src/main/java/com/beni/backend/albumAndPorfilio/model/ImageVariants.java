@@ -0,0 +1,20 @@
+package com.beni.backend.albumAndPorfilio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * File names of the resized copies generated for an uploaded image. A variant
+ * may not exist yet (generation is asynchronous) or at all (the original is
+ * already smaller); /api/images falls back to the original in that case.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+    private String original;
+    private String thumb;
+    private String grid;
+    private String lightbox;
+}
@@ -23,6 +23,7 @@ public class Portfolio {
     private String photographerName;
     private String category;
     private String imageUrl;
+    private ImageVariants imageVariants;
 
     @CreatedDate
     private Date dateUploaded;
@@ -2,6 +2,14 @@ package com.beni.backend.albumAndPorfilio.repository;
 
 import com.beni.backend.albumAndPorfilio.model.Album;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface AlbumRepository extends MongoRepository<Album, String> {
+
+    // Only the fields needed for album cards; the first image is a fallback for albums without a cover
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'name': 1, 'coverImage': 1, 'category': 1, 'images': { $slice: 1 } }")
+    List<Album> findCardsByIdIn(Collection<String> ids);
 }
@@ -1,11 +1,28 @@
 package com.beni.backend.albumAndPorfilio.service;
 
 import com.beni.backend.albumAndPorfilio.model.Album;
+import com.beni.backend.albumAndPorfilio.model.AlbumImagePage;
+import com.beni.backend.albumAndPorfilio.model.AlbumSummary;
+import com.beni.backend.albumAndPorfilio.model.ImageVariants;
 import com.beni.backend.albumAndPorfilio.repository.AlbumRepository;
+import com.beni.backend.events.EntityChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -19,6 +36,15 @@ public class AlbumService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     // Create Album Method
     public Album createAlbum(
             String name,
@@ -29,21 +55,28 @@ public class AlbumService {
             String location,
             String status) {
 
-        // Save the uploaded images and get their paths
-        List<String> imagePaths = fileStorageService.saveFiles(images);
-        String coverImagePath = fileStorageService.saveFile(coverImage);
+        // Save the uploaded images and the cover image as one parallel batch and get their paths
+        List<MultipartFile> uploads = new ArrayList<>(images);
+        uploads.add(coverImage);
+        List<String> savedPaths = fileStorageService.saveFiles(uploads);
+        List<String> imagePaths = new ArrayList<>(savedPaths.subList(0, images.size()));
+        String coverImagePath = savedPaths.get(images.size());
 
         // Create and save the album
         Album album = new Album();
         album.setName(name);
         album.setDescription(description);
         album.setImages(imagePaths);
+        album.setImageVariants(variantsFor(imagePaths));
         album.setCoverImage(coverImagePath);
+        album.setCoverImageVariants(imageDerivativeService.variantsFor(coverImagePath));
         album.setCategory(category);
         album.setLocation(location);
         album.setStatus(status);
 
-        return albumRepository.save(album);
+        Album savedAlbum = albumRepository.save(album);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.EntityType.ALBUM, savedAlbum.getId()));
+        return savedAlbum;
     }
 
     // Get All Albums Method
@@ -52,6 +85,58 @@ public class AlbumService {
         return albumRepository.findAll();
     }
 
+    // Get a page of album summaries, newest first, optionally filtered by category and status
+    public Page<AlbumSummary> getAlbumSummaries(String category, String status, int page, int size) {
+        Criteria criteria = new Criteria();
+        if (category != null && !category.isBlank()) {
+            criteria.and("category").is(category);
+        }
+        if (status != null && !status.isBlank()) {
+            criteria.and("status").is(status);
+        }
+
+        // The image count is computed in the database so the arrays never leave it
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                // releaseDate is set by auditing on insert; _id keeps albums released together in a stable order
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "releaseDate").and(Sort.by(Sort.Direction.DESC, "_id"))),
+                Aggregation.skip((long) page * size),
+                Aggregation.limit(size),
+                Aggregation.project("name", "category", "location", "status", "coverImage", "coverImageVariants", "releaseDate")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("images").then(Collections.emptyList())))
+                        .as("imageCount"));
+        List<AlbumSummary> summaries = mongoTemplate.aggregate(aggregation, Album.class, AlbumSummary.class)
+                .getMappedResults();
+        long total = mongoTemplate.count(new Query(criteria), Album.class);
+        return new PageImpl<>(summaries, PageRequest.of(page, size), total);
+    }
+
+    // Get a slice of one album's images and their variants
+    public AlbumImagePage getAlbumImages(String id, int offset, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(id)),
+                Aggregation.project()
+                        .and(ArrayOperators.Slice.sliceArrayOf(
+                                ConditionalOperators.ifNull("images").then(Collections.emptyList()))
+                                .offset(offset).itemCount(limit))
+                        .as("images")
+                        .and(ArrayOperators.Slice.sliceArrayOf(
+                                ConditionalOperators.ifNull("imageVariants").then(Collections.emptyList()))
+                                .offset(offset).itemCount(limit))
+                        .as("imageVariants")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("images").then(Collections.emptyList())))
+                        .as("total"));
+        AlbumImagePage page = mongoTemplate.aggregate(aggregation, Album.class, AlbumImagePage.class)
+                .getUniqueMappedResult();
+        if (page == null) {
+            throw new RuntimeException("Album not found with ID: " + id);
+        }
+        page.setOffset(offset);
+        return page;
+    }
+
     //Get A Album By ID Method
     public Album getAlbumById(String id) {
         return albumRepository.findById(id)
@@ -101,6 +186,7 @@ public class AlbumService {
             } else {
                 existingAlbum.setImages(newImagePaths); // If no existing images, set new images directly
             }
+            existingAlbum.setImageVariants(variantsFor(existingAlbum.getImages()));
         }
 
         // Handle cover image update only if a new cover image is provided
@@ -112,12 +198,21 @@ public class AlbumService {
             // Save new cover image
             String coverImagePath = fileStorageService.saveFile(coverImage);
             existingAlbum.setCoverImage(coverImagePath);
+            existingAlbum.setCoverImageVariants(imageDerivativeService.variantsFor(coverImagePath));
         }
 
         // Save the updated album back to the database
         return albumRepository.save(existingAlbum);
     }
 
+    private List<ImageVariants> variantsFor(List<String> imagePaths) {
+        List<ImageVariants> variants = new ArrayList<>(imagePaths.size());
+        for (String imagePath : imagePaths) {
+            variants.add(imageDerivativeService.variantsFor(imagePath));
+        }
+        return variants;
+    }
+
     //Delete Album Method
     public boolean deleteAlbums(String id) {
         // Fetch the album to get the image paths
@@ -137,6 +232,7 @@ public class AlbumService {
 
         // Delete the album from the database
         albumRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.EntityType.ALBUM, id));
 
         return true;
     }
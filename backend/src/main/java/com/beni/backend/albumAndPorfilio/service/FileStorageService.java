@@ -1,75 +1,118 @@
 package com.beni.backend.albumAndPorfilio.service;
 
+import com.beni.backend.storage.service.BlobStoreService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Service
 public class FileStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
-    private final Path rootLocation = Paths.get("backend/uploads");
+    // Each part is written on its own virtual thread; uploadParallelism bounds concurrent disk writes
+    private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
-    //Default Constructor
-    public FileStorageService() {
-        try {
-            // Create the uploads/images directory if it doesn't exist
-            Files.createDirectories(rootLocation);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not initialize storage folder!", e);
-        }
-    }
+    @Value("${storage.upload.parallelism:8}")
+    private int uploadParallelism;
+
+    // Content-addressed storage shared by albums and portfolios; identical images are stored once
+    @Autowired
+    private BlobStoreService blobStoreService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
 
     // Method to save a single file
     public String saveFile(MultipartFile file) {
-        try {
-            if (file.isEmpty()) {
-                throw new RuntimeException("File is empty!");
-            }
+        return writeFile(file).filename();
+    }
 
-            // Generate a unique filename
-            String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
+    // Method to save multiple files in parallel; if any file fails, the ones already stored are released again
+    public List<String> saveFiles(List<MultipartFile> files) {
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(uploadParallelism, 1));
 
-            // Save the file to the server
-            Path destinationFile = rootLocation.resolve(Paths.get(filename))
-                    .normalize()
-                    .toAbsolutePath();
-            Files.copy(file.getInputStream(), destinationFile);
+        List<Future<BlobStoreService.StoredFile>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(uploadExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return writeFile(file);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
 
-            // Return only the filename (relative to rootLocation)
-            return filename; // Changed from "uploads/images/" + filename
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
+        // Wait for every part so nothing is still being written when a failed batch is rolled back
+        List<String> filePaths = new ArrayList<>(files.size());
+        long totalBytes = 0;
+        RuntimeException failure = null;
+        for (Future<BlobStoreService.StoredFile> upload : uploads) {
+            try {
+                BlobStoreService.StoredFile stored = upload.get();
+                filePaths.add(stored.filename());
+                totalBytes += stored.size();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new RuntimeException("Failed to store file: " + e.getCause().getMessage(), e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new RuntimeException("Interrupted while storing files", e);
+                }
+            }
         }
-    }
 
-    // Method to save multiple files
-    public List<String> saveFiles(List<MultipartFile> files) {
-        List<String> filePaths = new ArrayList<>();
-        for (MultipartFile file : files) {
-            filePaths.add(saveFile(file));
+        if (failure != null) {
+            // Roll back the parts of this batch that were already stored
+            for (String filename : filePaths) {
+                try {
+                    deleteFile(filename);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not roll back {}: {}", filename, e.getMessage());
+                }
+            }
+            throw failure;
         }
+
+        logThroughput(filePaths.size(), totalBytes, started);
         return filePaths;
     }
 
-    // Method to delete a file
+    // Method to delete a file (drops one reference for content-addressed files)
     public void deleteFile(String filePath) {
         try {
-            // Resolve the file path relative to the base directory
-            Path targetLocation = rootLocation.resolve(filePath).normalize();
+            if (blobStoreService.isBlobName(filePath)) {
+                // Variants go with the last reference, before the same content can be stored again
+                blobStoreService.release(filePath, imageDerivativeService::deleteVariants);
+                return;
+            }
+
+            // Files uploaded before content addressing are deleted directly
+            Path targetLocation = blobStoreService.resolve(filePath);
 
             // Check if the file exists
             File file = targetLocation.toFile();
             if (file.exists()) {
                 // Attempt to delete the file
                 if (file.delete()) {
+                    imageDerivativeService.deleteVariants(targetLocation);
                     System.out.println("Deleted file: " + filePath);
                 } else {
                     throw new RuntimeException("Failed to delete file: " + filePath);
@@ -81,4 +124,28 @@ public class FileStorageService {
             throw new RuntimeException("Could not delete file: " + filePath, e);
         }
     }
-}
\ No newline at end of file
+
+    // Resolve a stored file name to its location, refusing names that escape the storage folder
+    public Path resolve(String filename) {
+        return blobStoreService.resolve(filename);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
+
+    // Stores one part and fills in any resized variants its content does not have yet
+    private BlobStoreService.StoredFile writeFile(MultipartFile file) {
+        BlobStoreService.StoredFile stored = blobStoreService.store(file);
+        imageDerivativeService.generateAsync(blobStoreService.resolve(stored.filename()));
+        return stored;
+    }
+
+    private void logThroughput(int fileCount, long totalBytes, long startedNanos) {
+        double seconds = Math.max(System.nanoTime() - startedNanos, 1) / 1_000_000_000.0;
+        double megabytes = totalBytes / (1024.0 * 1024.0);
+        logger.info("Stored {} file(s), {} MB in {} ms ({} MB/s)", fileCount,
+                String.format("%.2f", megabytes), Math.round(seconds * 1000), String.format("%.2f", megabytes / seconds));
+    }
+}
@@ -0,0 +1,212 @@
+package com.beni.backend.albumAndPorfilio.service;
+
+import com.beni.backend.albumAndPorfilio.model.ImageVariants;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates resized JPEG copies of uploaded images in the background, next to
+ * the original, using only the JDK's ImageIO and Java2D.
+ */
+@Service
+public class ImageDerivativeService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final Pattern VARIANT_NAME = Pattern.compile("^(.+)__(thumb|grid|lightbox)\\.jpg$");
+
+    public enum Size {
+        THUMB(320), GRID(800), LIGHTBOX(1600);
+
+        private final int longEdge;
+
+        Size(int longEdge) {
+            this.longEdge = longEdge;
+        }
+
+        public String suffix() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        // Returns null for unknown names so callers can fall back to the original
+        public static Size fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Size size : values()) {
+                if (size.suffix().equalsIgnoreCase(name)) {
+                    return size;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Resizing is CPU bound, so keep it to a small fixed pool off the request threads
+    private final ExecutorService derivativeExecutor = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-derivatives");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public ImageVariants variantsFor(String filename) {
+        return new ImageVariants(filename,
+                variantName(filename, Size.THUMB),
+                variantName(filename, Size.GRID),
+                variantName(filename, Size.LIGHTBOX));
+    }
+
+    public String variantName(String filename, Size size) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot > 0 ? filename.substring(0, dot) : filename;
+        return base + "__" + size.suffix() + ".jpg";
+    }
+
+    /**
+     * Finds the original image a variant file name was derived from. Album and portfolio
+     * records list variant names before they are generated, and small images never get
+     * them, so requests for those names are served the original instead.
+     * @return The original, or null if the name is not a variant name or no original exists
+     */
+    public Path originalOf(Path variant) {
+        Matcher matcher = VARIANT_NAME.matcher(variant.getFileName().toString());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String base = matcher.group(1);
+        // Variants are only made from formats ImageIO can read, so the original has one of their suffixes
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(base);
+        for (String suffix : ImageIO.getReaderFileSuffixes()) {
+            candidates.add(base + "." + suffix.toLowerCase(Locale.ROOT));
+        }
+        for (String candidate : candidates) {
+            Path original = variant.resolveSibling(candidate);
+            if (Files.isRegularFile(original)) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates in the background every variant of the original that does not exist yet
+     */
+    public void generateAsync(Path original) {
+        if (hasAllVariants(original)) {
+            return;
+        }
+        derivativeExecutor.execute(() -> generate(original));
+    }
+
+    public void deleteVariants(Path original) {
+        for (Size size : Size.values()) {
+            try {
+                Files.deleteIfExists(original.resolveSibling(variantName(original.getFileName().toString(), size)));
+            } catch (IOException e) {
+                logger.warn("Could not delete {} variant of {}: {}", size.suffix(), original, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        derivativeExecutor.shutdown();
+    }
+
+    private void generate(Path original) {
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) {
+                // Not a format ImageIO can decode; the original is served as is
+                return;
+            }
+            int sourceLongEdge = Math.max(source.getWidth(), source.getHeight());
+            for (Size size : Size.values()) {
+                Path target = original.resolveSibling(variantName(original.getFileName().toString(), size));
+                if (sourceLongEdge <= size.longEdge || Files.exists(target) || !Files.exists(original)) {
+                    continue;
+                }
+                writeJpeg(resize(source, size.longEdge), target);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not generate image variants for {}: {}", original, e.getMessage());
+        }
+    }
+
+    private boolean hasAllVariants(Path original) {
+        for (Size size : Size.values()) {
+            if (!Files.exists(original.resolveSibling(variantName(original.getFileName().toString(), size)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Halves the image step by step before the final bilinear pass, which keeps downscaled photos sharp
+    private static BufferedImage resize(BufferedImage source, int longEdge) {
+        double scale = (double) longEdge / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha, so transparent areas are painted white rather than left black
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path tempFile = target.resolveSibling(target.getFileName() + ".part");
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(tempFile.toFile())) {
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            params.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
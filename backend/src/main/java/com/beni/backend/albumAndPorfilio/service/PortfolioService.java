@@ -2,7 +2,9 @@ package com.beni.backend.albumAndPorfilio.service;
 
 import com.beni.backend.albumAndPorfilio.model.Portfolio;
 import com.beni.backend.albumAndPorfilio.repository.PortfolioRepository;
+import com.beni.backend.events.EntityChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,6 +20,12 @@ public class PortfolioService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     //Upload Image for Portfolio method
     public Portfolio createPortfolio(
             String albumName,
@@ -37,8 +45,11 @@ public class PortfolioService {
         portfolio.setPhotographerName(photographerName);
         portfolio.setCategory(category);
         portfolio.setImageUrl(imagePath);
+        portfolio.setImageVariants(imageDerivativeService.variantsFor(imagePath));
 
-        return portfolioRepository.save(portfolio);
+        Portfolio savedPortfolio = portfolioRepository.save(portfolio);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.EntityType.PORTFOLIO, savedPortfolio.getId()));
+        return savedPortfolio;
     }
 
     public List<Portfolio> getPortfolios() {
@@ -55,6 +66,7 @@ public class PortfolioService {
         }
 
         portfolioRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.EntityType.PORTFOLIO, id));
         return true;
     }
 
@@ -98,6 +110,7 @@ public class PortfolioService {
             // Save new cover image
             String imageUrl = fileStorageService.saveFile(image);
             existingImage.setImageUrl(imageUrl);
+            existingImage.setImageVariants(imageDerivativeService.variantsFor(imageUrl));
         }
 
         return portfolioRepository.save(existingImage);
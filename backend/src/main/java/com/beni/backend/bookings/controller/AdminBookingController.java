@@ -1,12 +1,30 @@
 package com.beni.backend.bookings.controller;
 
+import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.model.AutoAssignmentPlan;
+import com.beni.backend.bookings.model.BatchResult;
+import com.beni.backend.bookings.model.BatchStatusUpdate;
 import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingFilter;
+import com.beni.backend.bookings.model.BookingPage;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.bookings.model.StaffAssignment;
 import com.beni.backend.bookings.service.AdminBookingService;
+import com.beni.backend.bookings.service.BookingBatchService;
+import com.beni.backend.bookings.service.BookingLifecycleSweeper;
+import com.beni.backend.bookings.service.DailyCapacityService;
+import com.beni.backend.bookings.service.StaffAutoAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/bookings")
@@ -15,12 +33,121 @@ public class AdminBookingController {
     @Autowired
     private AdminBookingService adminBookingService;
 
+    @Autowired
+    private StaffAutoAssignmentService autoAssignmentService;
+
+    @Autowired
+    private BookingBatchService batchService;
+
+    @Autowired
+    private BookingLifecycleSweeper lifecycleSweeper;
+
+    @Autowired
+    private DailyCapacityService dailyCapacityService;
+
     // Get all bookings
     @GetMapping
     public List<Booking> getAllBookings() {
         return adminBookingService.getAllBookings();
     }
 
+    // Search bookings with filters, one page at a time (pass nextCursor back as cursor for the next page)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchBookings(
+            @RequestParam(required = false) String bookingStatus,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String packageName,
+            @RequestParam(required = false) String staffId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "desc") String sort,
+            @RequestParam(defaultValue = "50") int limit) {
+        BookingFilter filter = new BookingFilter();
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setLocation(location);
+        filter.setPackageName(packageName);
+        filter.setAssignedStaffId(staffId);
+        try {
+            filter.setBookingStatus(BookingStatus.parse(bookingStatus));
+            filter.setPaymentStatus(PaymentStatus.parse(paymentStatus));
+            BookingPage page = adminBookingService.searchBookings(filter, cursor, !"asc".equalsIgnoreCase(sort), limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Propose staff for all unassigned upcoming bookings without saving anything
+    @PostMapping("/auto-assign/preview")
+    public AutoAssignmentPlan previewAutoAssignment() {
+        return autoAssignmentService.preview();
+    }
+
+    // Save previewed assignments; bookings that changed since the preview are skipped
+    @PostMapping("/auto-assign/apply")
+    public ResponseEntity<?> applyAutoAssignment(@RequestBody List<StaffAssignment> assignments) {
+        try {
+            return ResponseEntity.ok(autoAssignmentService.apply(assignments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Create many bookings from a JSON array; the result lists the outcome of every row
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importBookings(@RequestBody List<Booking> bookings) {
+        try {
+            BatchResult result = batchService.importBookings(bookings);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Create many bookings from CSV (optional header line naming the columns)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importBookingsCsv(@RequestBody String csv) {
+        try {
+            BatchResult result = batchService.importCsv(csv);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Apply one status and/or payment change to many bookings
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateStatuses(@RequestBody BatchStatusUpdate request) {
+        try {
+            BatchResult result = batchService.updateStatuses(request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Complete past bookings now instead of waiting for the scheduled sweep
+    @PostMapping("/lifecycle/sweep")
+    public ResponseEntity<?> sweepLifecycle() {
+        long completed = lifecycleSweeper.sweep();
+        if (completed < 0) {
+            return ResponseEntity.status(409).body("A sweep is already running on another instance");
+        }
+        return ResponseEntity.ok(Map.of("completed", completed));
+    }
+
+    // Recompute the daily capacity ledger from the bookings, e.g. after restoring a backup
+    @PostMapping("/capacity/rebuild")
+    public ResponseEntity<?> rebuildCapacity() {
+        if (!dailyCapacityService.rebuild()) {
+            return ResponseEntity.status(409).body("A rebuild is already running on another instance");
+        }
+        return ResponseEntity.ok(Map.of("rebuilt", true));
+    }
+
     // Get a booking by ID
     @GetMapping("/{id}")
     public Booking getBookingById(@PathVariable String id) {
@@ -33,7 +160,7 @@ public class AdminBookingController {
         try {
             Booking updatedBooking = adminBookingService.updateBooking(id, booking);
             return ResponseEntity.ok(updatedBooking);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | BookingException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("An unexpected error occurred: " + e.getMessage());
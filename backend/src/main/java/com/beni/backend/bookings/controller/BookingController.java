@@ -1,19 +1,21 @@
 package com.beni.backend.bookings.controller;
 
+import com.beni.backend.bookings.exception.BookingValidationException;
 import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.service.BookingAvailabilityService;
 import com.beni.backend.bookings.service.BookingService;
+import com.beni.backend.staff.model.Staff;
 import jakarta.servlet.http.HttpSession;
-import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,55 +27,52 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
-    // Create booking endpoint
+    @Autowired
+    private BookingAvailabilityService availabilityService;
+
+    // Create booking endpoint; fields are validated once, in BookingValidationService
     @PostMapping("/create")
-    public ResponseEntity<?> createBooking(@Valid @RequestBody Booking booking, 
-                                         @RequestHeader("Userid") String clientId,
-                                         BindingResult bindingResult) {
+    public ResponseEntity<?> createBooking(@RequestBody Booking booking,
+                                         @RequestHeader("Userid") String clientId) {
         logger.info("Received booking creation request for client: {}", clientId);
 
-        // Check for validation errors
-        if (bindingResult.hasErrors()) {
-            Map<String, String> errors = new HashMap<>();
-            bindingResult.getFieldErrors().forEach(error -> 
-                errors.put(error.getField(), error.getDefaultMessage())
-            );
-            logger.warn("Validation failed for booking creation: {}", errors);
-            return ResponseEntity.badRequest().body(errors);
-        }
-
         // Ensure the userId is provided in the request header
         if (clientId == null || clientId.isEmpty()) {
             logger.error("Missing Userid in request header");
             return ResponseEntity.status(400).body("User ID is required");
         }
 
-        // Validate price
-        if (booking.getPrice() <= 0) {
-            logger.warn("Invalid price provided: {}", booking.getPrice());
-            return ResponseEntity.badRequest().body("Price must be greater than 0");
-        }
-
         try {
             // Set the clientId for the booking
             booking.setClientId(clientId);
 
-            // Additional validation using custom method
-            if (!booking.isValid()) {
-                logger.warn("Custom validation failed for booking");
-                return ResponseEntity.badRequest().body("Invalid booking data");
-            }
-
             // Create the booking
             Booking createdBooking = bookingService.createBooking(booking);
             logger.info("Successfully created booking with ID: {}", createdBooking.getId());
             return ResponseEntity.ok(createdBooking);
+        } catch (BookingValidationException e) {
+            logger.warn("Validation failed for booking creation: {}", e.getErrors());
+            return ResponseEntity.badRequest().body(e.getErrors());
         } catch (Exception e) {
             logger.error("Error creating booking: {}", e.getMessage());
             return ResponseEntity.status(500).body("Error creating booking: " + e.getMessage());
         }
     }
 
+    // Per-day remaining capacity and time slots for the booking calendar (ISO dates, inclusive)
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(BookingAvailabilityService.MAX_RANGE_DAYS - 1);
+        try {
+            return ResponseEntity.ok(availabilityService.getAvailability(start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/client")
     public ResponseEntity<?> getBookingsForClient(@RequestHeader("Userid") String clientId) {
         logger.info("Fetching bookings for client: {}", clientId);
@@ -185,6 +184,22 @@ public class BookingController {
         }
     }
 
+    // Get the staff members who are free for a booking of the given package at the given time
+    @GetMapping("/free-staff")
+    public ResponseEntity<?> getFreeStaff(@RequestParam String dateTime,
+                                          @RequestParam(required = false) String packageName) {
+        try {
+            List<Staff> staff = bookingService.getFreeStaff(LocalDateTime.parse(dateTime), packageName);
+            return ResponseEntity.ok(staff);
+        } catch (DateTimeParseException e) {
+            logger.error("Invalid date-time format: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid date-time format");
+        } catch (Exception e) {
+            logger.error("Error fetching free staff: {}", e.getMessage());
+            return ResponseEntity.status(500).body("Error fetching free staff: " + e.getMessage());
+        }
+    }
+
     // Get bookings assigned to a staff member
     @GetMapping("/staff/{staffId}")
     public ResponseEntity<?> getBookingsForStaff(@PathVariable String staffId) {
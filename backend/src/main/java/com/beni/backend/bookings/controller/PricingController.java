@@ -0,0 +1,55 @@
+package com.beni.backend.bookings.controller;
+
+import com.beni.backend.bookings.model.PricingConfig;
+import com.beni.backend.bookings.model.QuoteMatrixRequest;
+import com.beni.backend.bookings.service.LocationPricingService;
+import com.beni.backend.bookings.service.PriceMatrixService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/pricing")
+public class PricingController {
+    private final LocationPricingService locationPricingService;
+    private final PriceMatrixService priceMatrixService;
+
+    @Autowired
+    public PricingController(LocationPricingService locationPricingService, PriceMatrixService priceMatrixService) {
+        this.locationPricingService = locationPricingService;
+        this.priceMatrixService = priceMatrixService;
+    }
+
+    @GetMapping("/config")
+    public ResponseEntity<PricingConfig> getConfig() {
+        return ResponseEntity.ok(locationPricingService.getConfig());
+    }
+
+    @PutMapping("/config")
+    public ResponseEntity<?> updateConfig(@RequestBody PricingConfig config) {
+        try {
+            return ResponseEntity.ok(locationPricingService.updateConfig(config));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/locations")
+    public ResponseEntity<Map<String, Double>> getLocations() {
+        return ResponseEntity.ok(locationPricingService.getAllLocationMultipliers());
+    }
+
+    /**
+     * Prices catalog packages at several locations in one call, for package comparison pages
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<?> quoteMatrix(@RequestBody QuoteMatrixRequest request) {
+        try {
+            return ResponseEntity.ok(priceMatrixService.quote(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
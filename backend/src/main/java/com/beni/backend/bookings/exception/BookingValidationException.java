@@ -0,0 +1,21 @@
+package com.beni.backend.bookings.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thrown when a booking fails validation; carries every field error found, keyed by field name
+ */
+public class BookingValidationException extends BookingException {
+    private final Map<String, String> errors;
+
+    public BookingValidationException(Map<String, String> errors) {
+        super("Invalid booking data: " + String.join("; ", errors.values()));
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
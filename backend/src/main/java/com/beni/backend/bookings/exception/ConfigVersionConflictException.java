@@ -0,0 +1,10 @@
+package com.beni.backend.bookings.exception;
+
+/**
+ * Thrown when a configuration update is based on a version that has since been replaced
+ */
+public class ConfigVersionConflictException extends BookingException {
+    public ConfigVersionConflictException(String message) {
+        super(message);
+    }
+}
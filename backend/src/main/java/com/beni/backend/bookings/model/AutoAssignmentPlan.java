@@ -0,0 +1,19 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Proposed staff assignments for the unassigned upcoming bookings.
+ * unassignedBookingIds lists bookings for which no free staff member was found.
+ */
+@Data
+@AllArgsConstructor
+public class AutoAssignmentPlan {
+    private List<StaffAssignment> assignments;
+    private List<String> unassignedBookingIds;
+    private double totalCost;
+    private long solveMillis;
+}
@@ -0,0 +1,17 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a plan. Assignments are skipped when the booking was
+ * assigned, cancelled or rescheduled into a conflict since the preview.
+ */
+@Data
+@AllArgsConstructor
+public class AutoAssignmentResult {
+    private List<StaffAssignment> applied;
+    private List<String> skippedBookingIds;
+}
@@ -0,0 +1,17 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome for one row of a batch. row is the 1-based position in the
+ * request (the data line for CSV); message explains a failure.
+ */
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int row;
+    private String bookingId;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch import or status update, with one result per row.
+ */
+@Data
+@AllArgsConstructor
+public class BatchResult {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResult(succeeded, items.size() - succeeded, items);
+    }
+}
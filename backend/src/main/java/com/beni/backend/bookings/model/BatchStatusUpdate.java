@@ -0,0 +1,16 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A status and/or payment transition applied to many bookings at once.
+ * Fields left null are not changed.
+ */
+@Data
+public class BatchStatusUpdate {
+    private List<String> bookingIds;
+    private BookingStatus bookingStatus;
+    private PaymentStatus paymentStatus;
+}
@@ -1,11 +1,10 @@
 package com.beni.backend.bookings.model;
 
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.Future;
-import jakarta.validation.constraints.NotNull;
+import com.beni.backend.bookings.exception.BookingException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
@@ -13,78 +12,69 @@ import java.time.LocalDateTime;
 
 @Data
 @Document(collection = "bookings")
+// Back the admin search filters; each ends in (dateTime, _id) to serve the keyset sort
+@CompoundIndexes({
+        @CompoundIndex(name = "date_id", def = "{'dateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_date_id", def = "{'bookingStatus': 1, 'dateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "payment_date_id", def = "{'paymentStatus': 1, 'dateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "location_date_id", def = "{'location': 1, 'dateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "package_date_id", def = "{'packageName': 1, 'dateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "staff_date_id", def = "{'assignedStaffId': 1, 'dateTime': 1, '_id': 1}")
+})
 public class Booking {
     private String id;
 
-    @Future(message = "Booking date must be in the future")
-    @Indexed
     private LocalDateTime dateTime;
 
-    @NotBlank(message = "Client ID is required")
     @Indexed
     private String clientId;
 
-    @NotBlank(message = "Booking status is required")
-    @Pattern(regexp = "^(upcoming|completed|cancelled)$", message = "Invalid booking status")
-    private String bookingStatus = "upcoming";
+    private BookingStatus bookingStatus = BookingStatus.UPCOMING;
 
-    @NotBlank(message = "Payment status is required")
-    @Pattern(regexp = "^(pending|paid|refunded)$", message = "Invalid payment status")
-    private String paymentStatus = "pending";
+    private PaymentStatus paymentStatus = PaymentStatus.PENDING;
 
-    @NotBlank(message = "Phone number is required")
-    @Pattern(regexp = "^[+]?[(]?[0-9]{3}[)]?[-\s.]?[0-9]{3}[-\s.]?[0-9]{4,6}$", 
-            message = "Invalid phone number format")
     private String phoneNumber;
 
-    @NotBlank(message = "Email is required")
-    @Email(message = "Invalid email format")
     @Indexed
     private String email;
 
-    @NotBlank(message = "Location is required")
-    @Pattern(regexp = "^[a-zA-Z0-9\\s,.-]{5,100}$", 
-            message = "Location must be between 5 and 100 characters and contain only letters, numbers, spaces, commas, dots, and hyphens")
     private String location;
 
-    @NotBlank(message = "Package name is required")
     private String packageName;
 
-    @NotNull(message = "Price is required")
     private double price;
 
     private String assignedStaffId; // ID of the staff member assigned to this booking
     private String assignedStaffName; // Name of the staff member assigned to this booking
 
-    // Custom validation method
-    public boolean isValid() {
-        if (dateTime == null || dateTime.isBefore(LocalDateTime.now())) {
-            return false;
-        }
-        if (clientId == null || clientId.trim().isEmpty()) {
-            return false;
-        }
-        if (!bookingStatus.matches("^(upcoming|completed|cancelled)$")) {
-            return false;
-        }
-        if (!paymentStatus.matches("^(pending|paid|refunded)$")) {
-            return false;
-        }
-        if (phoneNumber == null || !phoneNumber.matches("^[+]?[(]?[0-9]{3}[)]?[-\s.]?[0-9]{3}[-\s.]?[0-9]{4,6}$")) {
-            return false;
-        }
-        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
-            return false;
-        }
-        if (location == null || !location.matches("^[a-zA-Z0-9\\s,.-]{5,100}$")) {
-            return false;
+    private boolean paymentOverdue; // Set when a booking is completed while its payment is still pending
+
+    @JsonIgnore
+    private String statusChangeId; // Token of the last batch status update that wrote this booking
+
+    /**
+     * Moves the booking to next, enforcing the allowed status transitions
+     * @throws BookingException if the booking cannot move from its current status to next
+     */
+    public void changeBookingStatus(BookingStatus next) {
+        if (bookingStatus != null && !bookingStatus.canTransitionTo(next)) {
+            throw new BookingException("Cannot change booking status from " + bookingStatus + " to " + next);
         }
-        if (packageName == null || packageName.trim().isEmpty()) {
-            return false;
+        bookingStatus = next;
+    }
+
+    /**
+     * Moves the payment to next, enforcing the allowed payment transitions. A payment that is no
+     * longer pending is not overdue.
+     * @throws BookingException if the payment cannot move from its current status to next
+     */
+    public void changePaymentStatus(PaymentStatus next) {
+        if (paymentStatus != null && !paymentStatus.canTransitionTo(next)) {
+            throw new BookingException("Cannot change payment status from " + paymentStatus + " to " + next);
         }
-        if (price <= 0) {
-            return false;
+        paymentStatus = next;
+        if (next != PaymentStatus.PENDING) {
+            paymentOverdue = false;
         }
-        return true;
     }
 }
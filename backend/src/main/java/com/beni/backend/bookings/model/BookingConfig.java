@@ -10,6 +10,8 @@ public class BookingConfig {
     @Id
     private String id;
 
+    private Long version; // Incremented on every update so other nodes can detect changes
+
     private Integer maxBookingsPerDay = 3; // Default value
 
     private Integer minAdvanceBookingDays = 1;
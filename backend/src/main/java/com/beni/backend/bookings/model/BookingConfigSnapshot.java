@@ -0,0 +1,61 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Value;
+
+/**
+ * Immutable, versioned copy of the booking configuration that is served from
+ * memory on the booking hot path. A new snapshot replaces the old one whenever
+ * the stored configuration changes.
+ */
+@Value
+public class BookingConfigSnapshot {
+    long version;
+    int maxBookingsPerDay;
+    int minAdvanceBookingDays;
+    int maxAdvanceBookingDays;
+    double cancellationFeePercentage;
+    int rescheduleLimitDays;
+    int rescheduleWindowHours;
+    int cancellationWindowHours;
+    String allowedLocations;
+    String timeSlots;
+    String bookingStatuses;
+
+    public static BookingConfigSnapshot from(BookingConfig config) {
+        BookingConfig defaults = new BookingConfig();
+        return new BookingConfigSnapshot(
+                config.getVersion() != null ? config.getVersion() : 0L,
+                valueOrDefault(config.getMaxBookingsPerDay(), defaults.getMaxBookingsPerDay()),
+                valueOrDefault(config.getMinAdvanceBookingDays(), defaults.getMinAdvanceBookingDays()),
+                valueOrDefault(config.getMaxAdvanceBookingDays(), defaults.getMaxAdvanceBookingDays()),
+                valueOrDefault(config.getCancellationFeePercentage(), defaults.getCancellationFeePercentage()),
+                valueOrDefault(config.getRescheduleLimitDays(), defaults.getRescheduleLimitDays()),
+                valueOrDefault(config.getRescheduleWindowHours(), defaults.getRescheduleWindowHours()),
+                valueOrDefault(config.getCancellationWindowHours(), defaults.getCancellationWindowHours()),
+                config.getAllowedLocations(),
+                config.getTimeSlots(),
+                config.getBookingStatuses());
+    }
+
+    // Returns a mutable copy for API responses
+    public BookingConfig toConfig(String id) {
+        BookingConfig config = new BookingConfig();
+        config.setId(id);
+        config.setVersion(version);
+        config.setMaxBookingsPerDay(maxBookingsPerDay);
+        config.setMinAdvanceBookingDays(minAdvanceBookingDays);
+        config.setMaxAdvanceBookingDays(maxAdvanceBookingDays);
+        config.setCancellationFeePercentage(cancellationFeePercentage);
+        config.setRescheduleLimitDays(rescheduleLimitDays);
+        config.setRescheduleWindowHours(rescheduleWindowHours);
+        config.setCancellationWindowHours(cancellationWindowHours);
+        config.setAllowedLocations(allowedLocations);
+        config.setTimeSlots(timeSlots);
+        config.setBookingStatuses(bookingStatuses);
+        return config;
+    }
+
+    private static <T> T valueOrDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,19 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the admin booking search. Null fields are ignored.
+ */
+@Data
+public class BookingFilter {
+    private BookingStatus bookingStatus;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String location;
+    private String packageName;
+    private String assignedStaffId;
+}
@@ -0,0 +1,16 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of bookings. nextCursor is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class BookingPage {
+    private List<Booking> items;
+    private String nextCursor;
+}
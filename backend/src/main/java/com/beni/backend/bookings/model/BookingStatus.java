@@ -0,0 +1,64 @@
+package com.beni.backend.bookings.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Lifecycle state of a booking, stored and exchanged as its lowercase value.
+ * An upcoming booking can be completed or cancelled; both of those are final.
+ */
+public enum BookingStatus {
+    UPCOMING("upcoming"), COMPLETED("completed"), CANCELLED("cancelled");
+
+    private final String value;
+
+    BookingStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Whether a booking in this state may move to next; staying in the same state is always allowed
+     */
+    public boolean canTransitionTo(BookingStatus next) {
+        return next == this || (this == UPCOMING && (next == COMPLETED || next == CANCELLED));
+    }
+
+    // Returns null for unknown values so callers can report their own error
+    public static BookingStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value) {
+            case "upcoming":
+                return UPCOMING;
+            case "completed":
+                return COMPLETED;
+            case "cancelled":
+                return CANCELLED;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Like fromValue, but rejects unknown values; used when reading request bodies and parameters
+     */
+    @JsonCreator
+    public static BookingStatus parse(String value) {
+        BookingStatus status = fromValue(value);
+        if (status == null && value != null) {
+            throw new IllegalArgumentException("Invalid booking status: " + value);
+        }
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,23 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-day booking capacity ledger entry. The id is the ISO-8601 date
+ * (yyyy-MM-dd) and {@code reserved} is the number of active (non-cancelled)
+ * bookings currently holding a slot on that day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "daily_capacity")
+public class DailyCapacity {
+    @Id
+    private String id;
+
+    private int reserved;
+}
@@ -0,0 +1,21 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Availability of one calendar day. bookable is false when the day is outside
+ * the advance booking window or has no capacity left; timeSlots then is empty.
+ */
+@Data
+@AllArgsConstructor
+public class DayAvailability {
+    private LocalDate date;
+    private int capacity;
+    private int remaining;
+    private boolean bookable;
+    private List<String> timeSlots;
+}
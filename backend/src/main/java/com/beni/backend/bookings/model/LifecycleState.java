@@ -0,0 +1,21 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the booking lifecycle sweeper, shared by all instances.
+ * Every upcoming booking before watermark has already been completed.
+ */
+@Data
+@Document(collection = "booking_lifecycle")
+public class LifecycleState {
+    @Id
+    private String id;
+    private LocalDateTime watermark;
+    private LocalDateTime lastRunAt;
+    private long completedTotal;
+}
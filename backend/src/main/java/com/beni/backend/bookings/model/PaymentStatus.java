@@ -0,0 +1,64 @@
+package com.beni.backend.bookings.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Payment state of a booking, stored and exchanged as its lowercase value.
+ * A pending payment can be paid and a paid one refunded; refunded is final.
+ */
+public enum PaymentStatus {
+    PENDING("pending"), PAID("paid"), REFUNDED("refunded");
+
+    private final String value;
+
+    PaymentStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Whether a payment in this state may move to next; staying in the same state is always allowed
+     */
+    public boolean canTransitionTo(PaymentStatus next) {
+        return next == this || (this == PENDING && next == PAID) || (this == PAID && next == REFUNDED);
+    }
+
+    // Returns null for unknown values so callers can report their own error
+    public static PaymentStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value) {
+            case "pending":
+                return PENDING;
+            case "paid":
+                return PAID;
+            case "refunded":
+                return REFUNDED;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Like fromValue, but rejects unknown values; used when reading request bodies and parameters
+     */
+    @JsonCreator
+    public static PaymentStatus parse(String value) {
+        PaymentStatus status = fromValue(value);
+        if (status == null && value != null) {
+            throw new IllegalArgumentException("Invalid payment status: " + value);
+        }
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
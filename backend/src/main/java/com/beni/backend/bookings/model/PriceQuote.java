@@ -0,0 +1,23 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A computed price with the factors that produced it. location is the canonical
+ * name when the location is known; knownLocation is false when the default
+ * multiplier was used.
+ */
+@Data
+@AllArgsConstructor
+public class PriceQuote {
+    private String packageName;
+    private String location;
+    private boolean knownLocation;
+    private double basePrice;
+    private double locationMultiplier;
+    private double packageMultiplier;
+    private double packageSurcharge;
+    private double surchargePercent;
+    private double total;
+}
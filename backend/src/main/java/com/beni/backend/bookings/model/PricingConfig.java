@@ -0,0 +1,74 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stored pricing rules. Location names, aliases and package names are matched case-insensitively.
+ * The final price is
+ * round((basePrice * location multiplier * package multiplier + package surcharge) * (1 + surcharge% / 100)),
+ * where surcharge% is the booking weekday's surcharge plus the highest matching seasonal surcharge.
+ */
+@Data
+@Document(collection = "pricing_config")
+public class PricingConfig {
+    @Id
+    private String id;
+
+    private Long version; // Incremented on every update so other nodes can detect changes
+
+    private Double defaultMultiplier = 1.5; // Applied to locations that are not listed
+
+    private List<Zone> zones = new ArrayList<>();
+
+    private List<Location> locations = new ArrayList<>();
+
+    private List<Season> seasons = new ArrayList<>();
+
+    private List<WeekdaySurcharge> weekdaySurcharges = new ArrayList<>();
+
+    private List<PackageRule> packageRules = new ArrayList<>();
+
+    // A tier of locations sharing one multiplier
+    @Data
+    public static class Zone {
+        private String name;
+        private Double multiplier;
+    }
+
+    // multiplier overrides the zone's; one of the two is required
+    @Data
+    public static class Location {
+        private String name;
+        private String zone;
+        private Double multiplier;
+        private List<String> aliases = new ArrayList<>();
+    }
+
+    // start and end are MM-dd and inclusive; a season may run over the new year
+    @Data
+    public static class Season {
+        private String name;
+        private String start;
+        private String end;
+        private Double surchargePercent;
+    }
+
+    @Data
+    public static class WeekdaySurcharge {
+        private DayOfWeek day;
+        private Double surchargePercent;
+    }
+
+    @Data
+    public static class PackageRule {
+        private String packageName;
+        private Double multiplier = 1.0;
+        private Double surcharge = 0.0; // Flat amount in LKR added before the percentage surcharges
+    }
+}
@@ -0,0 +1,254 @@
+package com.beni.backend.bookings.model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable lookup tables compiled from a PricingConfig and served from memory on every
+ * price calculation. Names are matched after trimming, collapsing inner whitespace and
+ * lower-casing, so "  colombo " and "Colombo" find the same location.
+ */
+public final class PricingTable {
+    private static final DateTimeFormatter MONTH_DAY = DateTimeFormatter.ofPattern("MM-dd");
+
+    private final long version;
+    private final double defaultMultiplier;
+    private final Map<String, Rate> locationsByKey;
+    private final Map<String, Double> multipliersByName;
+    private final Map<String, PackageRate> packagesByKey;
+    private final double[] weekdaySurcharges;
+    private final List<SeasonRange> seasons;
+
+    private record Rate(String name, double multiplier) {
+    }
+
+    private record PackageRate(double multiplier, double surcharge) {
+    }
+
+    private record SeasonRange(MonthDay start, MonthDay end, double surchargePercent) {
+        boolean contains(MonthDay day) {
+            return start.isAfter(end)
+                    ? !day.isBefore(start) || !day.isAfter(end)
+                    : !day.isBefore(start) && !day.isAfter(end);
+        }
+    }
+
+    private PricingTable(long version, double defaultMultiplier, Map<String, Rate> locationsByKey,
+                         Map<String, Double> multipliersByName, Map<String, PackageRate> packagesByKey,
+                         double[] weekdaySurcharges, List<SeasonRange> seasons) {
+        this.version = version;
+        this.defaultMultiplier = defaultMultiplier;
+        this.locationsByKey = locationsByKey;
+        this.multipliersByName = multipliersByName;
+        this.packagesByKey = packagesByKey;
+        this.weekdaySurcharges = weekdaySurcharges;
+        this.seasons = seasons;
+    }
+
+    /**
+     * Checks and compiles the stored rules
+     * @throws IllegalArgumentException if a rule is incomplete, out of range or listed twice
+     */
+    public static PricingTable compile(PricingConfig config) {
+        double defaultMultiplier = positive(config.getDefaultMultiplier(), "defaultMultiplier");
+
+        Map<String, Double> zones = new HashMap<>();
+        for (PricingConfig.Zone zone : orEmpty(config.getZones())) {
+            String key = requireKey(zone.getName(), "zone name");
+            if (zones.put(key, positive(zone.getMultiplier(), "multiplier of zone " + zone.getName())) != null) {
+                throw new IllegalArgumentException("Zone " + zone.getName() + " is listed twice");
+            }
+        }
+
+        Map<String, Rate> locationsByKey = new HashMap<>();
+        Map<String, Double> multipliersByName = new LinkedHashMap<>();
+        for (PricingConfig.Location location : orEmpty(config.getLocations())) {
+            String name = requireName(location.getName(), "location name");
+            double multiplier;
+            if (location.getMultiplier() != null) {
+                multiplier = positive(location.getMultiplier(), "multiplier of " + name);
+            } else {
+                Double zoneMultiplier = location.getZone() != null ? zones.get(normalize(location.getZone())) : null;
+                if (zoneMultiplier == null) {
+                    throw new IllegalArgumentException("Location " + name + " needs a multiplier or a known zone");
+                }
+                multiplier = zoneMultiplier;
+            }
+            Rate rate = new Rate(name, multiplier);
+            List<String> names = new ArrayList<>();
+            names.add(name);
+            names.addAll(orEmpty(location.getAliases()));
+            for (String alias : names) {
+                if (locationsByKey.put(requireKey(alias, "alias of " + name), rate) != null) {
+                    throw new IllegalArgumentException("Location or alias " + alias + " is listed twice");
+                }
+            }
+            multipliersByName.put(name, multiplier);
+        }
+
+        Map<String, PackageRate> packagesByKey = new HashMap<>();
+        for (PricingConfig.PackageRule rule : orEmpty(config.getPackageRules())) {
+            String name = requireName(rule.getPackageName(), "package name");
+            PackageRate rate = new PackageRate(
+                    rule.getMultiplier() != null ? positive(rule.getMultiplier(), "multiplier of " + name) : 1.0,
+                    rule.getSurcharge() != null ? finite(rule.getSurcharge(), "surcharge of " + name) : 0.0);
+            if (packagesByKey.put(normalize(name), rate) != null) {
+                throw new IllegalArgumentException("Package " + name + " is listed twice");
+            }
+        }
+
+        double[] weekdaySurcharges = new double[7];
+        for (PricingConfig.WeekdaySurcharge surcharge : orEmpty(config.getWeekdaySurcharges())) {
+            if (surcharge.getDay() == null) {
+                throw new IllegalArgumentException("Weekday surcharge needs a day");
+            }
+            weekdaySurcharges[surcharge.getDay().ordinal()] = percent(surcharge.getSurchargePercent(), surcharge.getDay().toString());
+        }
+
+        List<SeasonRange> seasons = new ArrayList<>();
+        for (PricingConfig.Season season : orEmpty(config.getSeasons())) {
+            String name = season.getName() != null ? season.getName() : "season";
+            seasons.add(new SeasonRange(monthDay(season.getStart(), name), monthDay(season.getEnd(), name),
+                    percent(season.getSurchargePercent(), name)));
+        }
+
+        return new PricingTable(
+                config.getVersion() != null ? config.getVersion() : 0L,
+                defaultMultiplier,
+                Map.copyOf(locationsByKey),
+                Collections.unmodifiableMap(multipliersByName),
+                Map.copyOf(packagesByKey),
+                weekdaySurcharges,
+                List.copyOf(seasons));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Multiplier for every listed location by its canonical name, in configuration order
+     */
+    public Map<String, Double> getLocationMultipliers() {
+        return multipliersByName;
+    }
+
+    public boolean isKnownLocation(String location) {
+        return location != null && locationsByKey.containsKey(normalize(location));
+    }
+
+    /**
+     * The canonical name of a listed location or alias, or the trimmed input for an unknown location
+     */
+    public String canonicalName(String location) {
+        Rate rate = locationsByKey.get(normalize(location));
+        return rate != null ? rate.name() : location.trim();
+    }
+
+    /**
+     * Prices basePrice for a location, and optionally a package and a booking date
+     */
+    public PriceQuote quote(double basePrice, String location, String packageName, LocalDate date) {
+        boolean blank = location == null || location.isBlank();
+        Rate rate = blank ? null : locationsByKey.get(normalize(location));
+        double locationMultiplier = rate != null ? rate.multiplier() : blank ? 1.0 : defaultMultiplier;
+
+        PackageRate packageRate = packageName != null ? packagesByKey.get(normalize(packageName)) : null;
+        double packageMultiplier = packageRate != null ? packageRate.multiplier() : 1.0;
+        double packageSurcharge = packageRate != null ? packageRate.surcharge() : 0.0;
+
+        double surchargePercent = date != null ? surchargePercent(date) : 0.0;
+        double total = Math.round((basePrice * locationMultiplier * packageMultiplier + packageSurcharge)
+                * (1 + surchargePercent / 100));
+
+        return new PriceQuote(packageName, rate != null ? rate.name() : location, rate != null, basePrice,
+                locationMultiplier, packageMultiplier, packageSurcharge, surchargePercent, total);
+    }
+
+    // Weekday surcharge plus the highest seasonal surcharge covering the date
+    private double surchargePercent(LocalDate date) {
+        MonthDay day = MonthDay.from(date);
+        double season = 0.0;
+        for (SeasonRange range : seasons) {
+            if (range.contains(day)) {
+                season = Math.max(season, range.surchargePercent());
+            }
+        }
+        return weekdaySurcharges[date.getDayOfWeek().ordinal()] + season;
+    }
+
+    public static String normalize(String name) {
+        String trimmed = name.trim();
+        StringBuilder key = new StringBuilder(trimmed.length());
+        boolean space = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                key.append(' ');
+                space = false;
+            }
+            key.append(c);
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    private static String requireName(String name, String what) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("A " + what + " is required");
+        }
+        return name.trim();
+    }
+
+    private static String requireKey(String name, String what) {
+        return normalize(requireName(name, what));
+    }
+
+    private static double positive(Double value, String what) {
+        if (value == null || !(value > 0) || value.isInfinite()) {
+            throw new IllegalArgumentException("The " + what + " must be greater than 0");
+        }
+        return value;
+    }
+
+    private static double finite(double value, String what) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("The " + what + " must be a number");
+        }
+        return value;
+    }
+
+    private static double percent(Double value, String what) {
+        if (value == null || value.isNaN() || value.isInfinite() || value <= -100) {
+            throw new IllegalArgumentException("The surcharge for " + what + " must be a percentage above -100");
+        }
+        return value;
+    }
+
+    private static MonthDay monthDay(String value, String season) {
+        try {
+            if (value != null) {
+                return MonthDay.parse(value.trim(), MONTH_DAY);
+            }
+        } catch (DateTimeException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Season " + season + " needs start and end dates as MM-dd");
+    }
+}
@@ -0,0 +1,28 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Prices for every requested package at every requested location, computed with
+ * one version of the pricing rules. Each row's quotes are in the order of locations.
+ */
+@Data
+@AllArgsConstructor
+public class QuoteMatrix {
+    private long pricingVersion;
+    private List<String> locations;
+    private List<PackageQuotes> packages;
+    private List<String> unknownPackageIds;
+
+    @Data
+    @AllArgsConstructor
+    public static class PackageQuotes {
+        private String packageId;
+        private String packageName;
+        private int investment;
+        private List<PriceQuote> quotes;
+    }
+}
@@ -0,0 +1,18 @@
+package com.beni.backend.bookings.model;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Packages and locations to price against each other. Without locations every
+ * configured location is quoted; date is optional and selects weekday and
+ * seasonal surcharges.
+ */
+@Data
+public class QuoteMatrixRequest {
+    private List<String> packageIds;
+    private List<String> locations;
+    private LocalDate date;
+}
@@ -0,0 +1,22 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booking-to-staff assignment proposed or applied by the auto-assigner.
+ * Only bookingId and staffId are read when an assignment is applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffAssignment {
+    private String bookingId;
+    private String staffId;
+    private String staffName;
+    private LocalDateTime dateTime;
+    private double cost;
+}
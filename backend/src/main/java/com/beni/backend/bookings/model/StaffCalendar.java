@@ -0,0 +1,40 @@
+package com.beni.backend.bookings.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The time one staff member is booked for. The id is the staff id and each
+ * slot is an upcoming booking occupying [start, end). Slots are only added
+ * with a conditional update that fails on overlap, so the check holds across
+ * instances.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "staff_calendars")
+@CompoundIndex(name = "slot_booking", def = "{'slots.bookingId': 1}")
+public class StaffCalendar {
+    @Id
+    private String id;
+
+    private List<Slot> slots = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Slot {
+        private String bookingId;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private Date reservedAt;
+    }
+}
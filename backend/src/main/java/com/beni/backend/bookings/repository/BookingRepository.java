@@ -7,7 +7,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface BookingRepository extends MongoRepository<Booking, String> {
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
     List<Booking> findByClientId(String clientId);
 
     List<Booking> findByDateTimeBetween(LocalDateTime dateTime, LocalDateTime dateTime2);
@@ -0,0 +1,20 @@
+package com.beni.backend.bookings.repository;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingFilter;
+import com.beni.backend.bookings.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    // Keyset page ordered by (dateTime, id), starting after the given position (afterId null for the first page).
+    // Bookings without a date sort first ascending and last descending; afterDateTime is null after one of them.
+    List<Booking> findPage(BookingFilter filter, LocalDateTime afterDateTime, String afterId,
+                           boolean descending, int limit);
+
+    // Saves the booking only if the stored status and dateTime are still the ones the change was based on,
+    // so the ledger is adjusted once even when the same change is submitted twice. False if another write won.
+    boolean replaceIfUnchanged(Booking booking, BookingStatus expectedStatus, LocalDateTime expectedDateTime);
+}
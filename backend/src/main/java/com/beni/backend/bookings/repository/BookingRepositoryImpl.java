@@ -0,0 +1,86 @@
+package com.beni.backend.bookings.repository;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingFilter;
+import com.beni.backend.bookings.model.BookingStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public BookingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Booking> findPage(BookingFilter filter, LocalDateTime afterDateTime, String afterId,
+                                  boolean descending, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+
+        // Equality filters first so they line up with the {field, dateTime, _id} compound indexes
+        if (filter.getBookingStatus() != null) {
+            criteria.add(Criteria.where("bookingStatus").is(filter.getBookingStatus().getValue()));
+        }
+        if (filter.getPaymentStatus() != null) {
+            criteria.add(Criteria.where("paymentStatus").is(filter.getPaymentStatus().getValue()));
+        }
+        if (filter.getLocation() != null) {
+            criteria.add(Criteria.where("location").is(filter.getLocation()));
+        }
+        if (filter.getPackageName() != null) {
+            criteria.add(Criteria.where("packageName").is(filter.getPackageName()));
+        }
+        if (filter.getAssignedStaffId() != null) {
+            criteria.add(Criteria.where("assignedStaffId").is(filter.getAssignedStaffId()));
+        }
+        if (filter.getFrom() != null) {
+            criteria.add(Criteria.where("dateTime").gte(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            criteria.add(Criteria.where("dateTime").lt(filter.getTo()));
+        }
+
+        // Resume strictly after the last (dateTime, id) pair of the previous page. Mongo sorts a missing
+        // dateTime before every date, so undated bookings open an ascending walk and close a descending one.
+        if (afterId != null) {
+            Criteria sameDateLaterId = descending
+                    ? Criteria.where("dateTime").is(afterDateTime).and("id").lt(afterId)
+                    : Criteria.where("dateTime").is(afterDateTime).and("id").gt(afterId);
+            Criteria laterDate;
+            if (afterDateTime == null) {
+                laterDate = descending ? null : Criteria.where("dateTime").ne(null);
+            } else {
+                laterDate = descending
+                        ? new Criteria().orOperator(Criteria.where("dateTime").lt(afterDateTime),
+                                Criteria.where("dateTime").is(null))
+                        : Criteria.where("dateTime").gt(afterDateTime);
+            }
+            criteria.add(laterDate != null ? new Criteria().orOperator(laterDate, sameDateLaterId) : sameDateLaterId);
+        }
+
+        Query query = criteria.isEmpty()
+                ? new Query()
+                : new Query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        query.with(Sort.by(direction, "dateTime").and(Sort.by(direction, "id")));
+        query.limit(limit);
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+
+    @Override
+    public boolean replaceIfUnchanged(Booking booking, BookingStatus expectedStatus, LocalDateTime expectedDateTime) {
+        Query unchanged = new Query(Criteria.where("_id").is(booking.getId())
+                .and("bookingStatus").is(expectedStatus != null ? expectedStatus.getValue() : null)
+                .and("dateTime").is(expectedDateTime));
+        return mongoTemplate.findAndReplace(unchanged, booking) != null;
+    }
+}
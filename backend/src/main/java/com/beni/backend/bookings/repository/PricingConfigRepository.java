@@ -0,0 +1,9 @@
+package com.beni.backend.bookings.repository;
+
+import com.beni.backend.bookings.model.PricingConfig;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PricingConfigRepository extends MongoRepository<PricingConfig, String> {
+}
@@ -1,38 +1,71 @@
 package com.beni.backend.bookings.service;
 
+import com.beni.backend.bookings.exception.BookingException;
 import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingFilter;
+import com.beni.backend.bookings.model.BookingPage;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
 import com.beni.backend.bookings.repository.BookingRepository;
-import com.beni.backend.staff.model.Staff;
-import com.beni.backend.staff.repository.StaffRepository;
+import com.beni.backend.events.EntityChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class AdminBookingService {
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
-    private StaffRepository staffRepository;
+    private BookingStaffEnricher staffEnricher;
 
     @Autowired
     private BookingValidationService validationService;
 
+    @Autowired
+    private DailyCapacityService dailyCapacityService;
+
+    @Autowired
+    private StaffScheduleService staffScheduleService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all bookings with staff information
     public List<Booking> getAllBookings() {
-        List<Booking> bookings = bookingRepository.findAll();
-        return bookings.stream().map(booking -> {
-            if (booking.getAssignedStaffId() != null) {
-                Optional<Staff> staff = staffRepository.findById(booking.getAssignedStaffId());
-                staff.ifPresent(s -> booking.setAssignedStaffName(s.getName()));
-            }
-            return booking;
-        }).collect(Collectors.toList());
+        return staffEnricher.enrich(bookingRepository.findAll());
+    }
+
+    // Search bookings one page at a time, resuming from the cursor returned with the previous page
+    public BookingPage searchBookings(BookingFilter filter, String cursor, boolean descending, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        LocalDateTime afterDateTime = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterDateTime = position[0].isEmpty() ? null : LocalDateTime.parse(position[0]);
+            afterId = position[1];
+        }
+
+        // Fetch one extra booking to find out whether another page follows
+        List<Booking> bookings = bookingRepository.findPage(filter, afterDateTime, afterId, descending, pageSize + 1);
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = bookings.subList(0, pageSize);
+            Booking last = bookings.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getDateTime(), last.getId());
+        }
+        return new BookingPage(staffEnricher.enrich(bookings), nextCursor);
     }
 
     // Get a booking by ID
@@ -47,41 +80,97 @@ public class AdminBookingService {
         
         // Validate the updated booking data
         if (updatedBooking.getDateTime() != null) {
-            validationService.validateBookingLimit(updatedBooking.getDateTime());
             validationService.validateAdvanceBooking(updatedBooking.getDateTime());
             validationService.validateNotInPast(updatedBooking.getDateTime());
         }
-        
-        // Validate booking status
-        if (updatedBooking.getBookingStatus() != null && 
-            !updatedBooking.getBookingStatus().matches("^(upcoming|completed|cancelled)$")) {
-            throw new IllegalArgumentException("Invalid booking status");
+
+        LocalDateTime previousDateTime = existingBooking.getDateTime();
+        PaymentStatus previousPaymentStatus = existingBooking.getPaymentStatus();
+        BookingStatus previousStatus = existingBooking.getBookingStatus();
+        boolean heldSlot = existingBooking.getBookingStatus() != BookingStatus.CANCELLED;
+
+        // Update only the fields that were provided; status changes must follow the allowed transitions
+        if (updatedBooking.getBookingStatus() != null) {
+            existingBooking.changeBookingStatus(updatedBooking.getBookingStatus());
         }
-        
-        // Validate payment status
-        if (updatedBooking.getPaymentStatus() != null && 
-            !updatedBooking.getPaymentStatus().matches("^(pending|paid|refunded)$")) {
-            throw new IllegalArgumentException("Invalid payment status");
+        if (updatedBooking.getPaymentStatus() != null) {
+            existingBooking.changePaymentStatus(updatedBooking.getPaymentStatus());
         }
-
-        // Update only the fields that were provided
         if (updatedBooking.getDateTime() != null) {
             existingBooking.setDateTime(updatedBooking.getDateTime());
         }
-        if (updatedBooking.getBookingStatus() != null) {
-            existingBooking.setBookingStatus(updatedBooking.getBookingStatus());
+
+        // Keep the daily capacity ledger in step with date and cancellation changes
+        LocalDateTime newDateTime = existingBooking.getDateTime();
+        boolean holdsSlot = existingBooking.getBookingStatus() != BookingStatus.CANCELLED;
+        boolean changesDay = dailyCapacityService.changesDay(previousDateTime, newDateTime);
+        boolean reserveNew = holdsSlot && (!heldSlot || changesDay);
+        boolean releaseOld = heldSlot && (!holdsSlot || changesDay);
+
+        // Moving the booking must not double-book its staff member; other edits leave the calendar alone
+        boolean movesPlacement = !Objects.equals(previousDateTime, newDateTime)
+                || previousStatus != existingBooking.getBookingStatus();
+        StaffScheduleService.Placement previousPlacement = movesPlacement
+                ? staffScheduleService.reserve(existingBooking) : null;
+        Booking savedBooking;
+        try {
+            if (reserveNew) {
+                dailyCapacityService.reserve(newDateTime);
+            }
+            try {
+                // A concurrent change of the same booking would otherwise release the old slot twice
+                if (!bookingRepository.replaceIfUnchanged(existingBooking, previousStatus, previousDateTime)) {
+                    throw new BookingException("Booking was changed meanwhile; reload and try again");
+                }
+                savedBooking = existingBooking;
+            } catch (RuntimeException e) {
+                if (reserveNew) {
+                    dailyCapacityService.release(newDateTime);
+                }
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            if (movesPlacement) {
+                staffScheduleService.restore(id, previousPlacement);
+            }
+            throw e;
         }
-        if (updatedBooking.getPaymentStatus() != null) {
-            existingBooking.setPaymentStatus(updatedBooking.getPaymentStatus());
+        if (releaseOld) {
+            dailyCapacityService.release(previousDateTime);
+        }
+        eventPublisher.publishEvent(EntityChangedEvent.bookingUpdated(
+                savedBooking.getId(), previousPaymentStatus, savedBooking.getPaymentStatus()));
+        return savedBooking;
+    }
+
+    // An empty date stands for a booking without a dateTime, which the keyset order still places
+    private static String encodeCursor(LocalDateTime dateTime, String id) {
+        String position = (dateTime != null ? dateTime.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
         }
-        
-        return bookingRepository.save(existingBooking);
     }
 
     // Delete a booking by ID
     public String deleteBooking(String id) {
         Booking booking = getBookingById(id);
         bookingRepository.deleteById(id);
+        if (booking.getBookingStatus() != BookingStatus.CANCELLED) {
+            dailyCapacityService.release(booking.getDateTime());
+        }
+        staffScheduleService.release(id);
+        eventPublisher.publishEvent(EntityChangedEvent.bookingDeleted(id, booking.getPaymentStatus()));
         return "Booking deleted successfully";
     }
 }
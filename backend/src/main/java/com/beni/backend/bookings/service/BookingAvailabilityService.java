@@ -0,0 +1,133 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.BookingConfigSnapshot;
+import com.beni.backend.bookings.model.DayAvailability;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the booking calendar shown to clients: remaining capacity and
+ * selectable time slots per day, following the same advance-window and
+ * per-day limit rules that {@link BookingValidationService} enforces.
+ */
+@Service
+public class BookingAvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingAvailabilityService.class);
+    public static final int MAX_RANGE_DAYS = 92;
+
+    private final BookingConfigService bookingConfigService;
+    private final DailyCapacityService dailyCapacityService;
+    private final ObjectMapper objectMapper;
+
+    private record ParsedSlots(String raw, List<LocalTime> slots) {
+    }
+
+    private volatile ParsedSlots parsedSlots = new ParsedSlots(null, List.of());
+
+    public BookingAvailabilityService(
+            BookingConfigService bookingConfigService,
+            DailyCapacityService dailyCapacityService,
+            ObjectMapper objectMapper) {
+        this.bookingConfigService = bookingConfigService;
+        this.dailyCapacityService = dailyCapacityService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Gets the availability of every day in the range
+     * @param from The first day, inclusive
+     * @param to The last day, inclusive
+     * @return One entry per day
+     * @throws IllegalArgumentException if the range is reversed or longer than MAX_RANGE_DAYS
+     */
+    public List<DayAvailability> getAvailability(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Cannot request more than " + MAX_RANGE_DAYS + " days at once");
+        }
+
+        BookingConfigSnapshot config = bookingConfigService.getSnapshot();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate firstBookable = now.toLocalDate().plusDays(config.getMinAdvanceBookingDays());
+        LocalDate lastBookable = now.toLocalDate().plusDays(config.getMaxAdvanceBookingDays());
+        List<LocalTime> slots = timeSlots(config.getTimeSlots());
+        Map<LocalDate, Integer> reserved = dailyCapacityService.reservedBetween(from, to);
+
+        List<DayAvailability> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            int remaining = Math.max(0, config.getMaxBookingsPerDay() - reserved.getOrDefault(day, 0));
+            boolean inWindow = !day.isBefore(firstBookable) && !day.isAfter(lastBookable);
+            List<String> daySlots = new ArrayList<>();
+            if (inWindow && remaining > 0) {
+                for (LocalTime slot : slots) {
+                    // Slots earlier today are gone even when same-day booking is allowed
+                    if (day.atTime(slot).isAfter(now)) {
+                        daySlots.add(slot.toString());
+                    }
+                }
+            }
+            boolean bookable = inWindow && remaining > 0 && (slots.isEmpty() || !daySlots.isEmpty());
+            days.add(new DayAvailability(day, config.getMaxBookingsPerDay(), remaining, bookable, daySlots));
+        }
+        return days;
+    }
+
+    // Parsed once per configuration value rather than on every request
+    private List<LocalTime> timeSlots(String raw) {
+        ParsedSlots cached = parsedSlots;
+        if (raw == null ? cached.raw() == null : raw.equals(cached.raw())) {
+            return cached.slots();
+        }
+        List<LocalTime> slots = parseTimeSlots(raw);
+        parsedSlots = new ParsedSlots(raw, slots);
+        return slots;
+    }
+
+    /**
+     * Accepts a JSON array of times ("09:00") or of objects with a "start" time,
+     * or a plain comma-separated list. Entries that are not times are skipped.
+     */
+    private List<LocalTime> parseTimeSlots(String raw) {
+        List<String> values = new ArrayList<>();
+        if (raw != null && !raw.isBlank()) {
+            try {
+                JsonNode node = objectMapper.readTree(raw);
+                if (node.isArray()) {
+                    for (JsonNode item : node) {
+                        values.add(item.isObject() ? item.path("start").asText() : item.asText());
+                    }
+                }
+            } catch (IOException e) {
+                for (String value : raw.split(",")) {
+                    values.add(value);
+                }
+            }
+        }
+
+        List<LocalTime> slots = new ArrayList<>();
+        for (String value : values) {
+            try {
+                slots.add(LocalTime.parse(value.trim()));
+            } catch (DateTimeParseException e) {
+                logger.warn("Ignoring invalid time slot in booking config: {}", value);
+            }
+        }
+        slots.sort(null);
+        return List.copyOf(slots);
+    }
+}
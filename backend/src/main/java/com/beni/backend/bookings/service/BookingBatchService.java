@@ -0,0 +1,405 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.model.BatchItemResult;
+import com.beni.backend.bookings.model.BatchResult;
+import com.beni.backend.bookings.model.BatchStatusUpdate;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.bookings.model.PriceQuote;
+import com.beni.backend.bookings.model.PricingTable;
+import com.beni.backend.bookings.repository.BookingRepository;
+import com.beni.backend.events.EntityChangedEvent;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports bookings and applies status/payment transitions in bulk.
+ *
+ * Every row is validated on its own and reported in the result; the valid
+ * rows are then written with a single unordered bulk write. Daily capacity is
+ * reserved per day for the whole batch before the write and given back for
+ * rows that could not be written.
+ */
+@Service
+public class BookingBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingBatchService.class);
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    // Column order expected when a CSV has no header line
+    private static final List<String> CSV_COLUMNS = List.of(
+            "dateTime", "clientId", "email", "phoneNumber", "location", "packageName", "price",
+            "bookingStatus", "paymentStatus");
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingRepository bookingRepository;
+    private final BookingValidationService validationService;
+    private final LocationPricingService locationPricingService;
+    private final DailyCapacityService dailyCapacityService;
+    private final StaffScheduleService staffScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookingBatchService(
+            MongoTemplate mongoTemplate,
+            BookingRepository bookingRepository,
+            BookingValidationService validationService,
+            LocationPricingService locationPricingService,
+            DailyCapacityService dailyCapacityService,
+            StaffScheduleService staffScheduleService,
+            ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingRepository = bookingRepository;
+        this.validationService = validationService;
+        this.locationPricingService = locationPricingService;
+        this.dailyCapacityService = dailyCapacityService;
+        this.staffScheduleService = staffScheduleService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Creates bookings from CSV text. The first line may be a header naming the columns
+     * (dateTime, clientId, email, phoneNumber, location, packageName, price, bookingStatus, paymentStatus).
+     */
+    public BatchResult importCsv(String csv) {
+        List<List<String>> records = parseCsv(csv);
+        List<String> columns = CSV_COLUMNS;
+        if (!records.isEmpty() && records.get(0).stream().anyMatch(v -> v.trim().equalsIgnoreCase("dateTime"))) {
+            columns = records.remove(0).stream().map(String::trim).toList();
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                bookings.add(toBooking(columns, records.get(i)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                bookings.add(null);
+                parseErrors.put(i, "Unreadable row: " + e.getMessage());
+            }
+        }
+        return importBookings(bookings, parseErrors);
+    }
+
+    /**
+     * Creates bookings from already parsed rows
+     */
+    public BatchResult importBookings(List<Booking> bookings) {
+        return importBookings(bookings, Map.of());
+    }
+
+    private BatchResult importBookings(List<Booking> bookings, Map<Integer, String> parseErrors) {
+        if (bookings.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot import more than " + MAX_BATCH_SIZE + " bookings at once");
+        }
+        BatchItemResult[] results = new BatchItemResult[bookings.size()];
+
+        // Validate each row and group the valid ones by day
+        Map<LocalDate, List<Integer>> rowsByDay = new LinkedHashMap<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            if (booking == null) {
+                results[i] = new BatchItemResult(i + 1, null, false, parseErrors.getOrDefault(i, "Empty row"));
+                continue;
+            }
+            try {
+                booking.setId(null);
+                booking.setAssignedStaffId(null);
+                booking.setAssignedStaffName(null);
+                if (booking.getBookingStatus() != BookingStatus.UPCOMING) {
+                    throw new BookingException("Imported bookings must be upcoming");
+                }
+                validationService.validateBooking(booking);
+                rowsByDay.computeIfAbsent(booking.getDateTime().toLocalDate(), d -> new ArrayList<>()).add(i);
+            } catch (BookingException e) {
+                results[i] = new BatchItemResult(i + 1, null, false, e.getMessage());
+            }
+        }
+
+        // One capacity reservation per day; rows beyond the day's remaining capacity fail
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Integer>> entry : rowsByDay.entrySet()) {
+            List<Integer> rows = entry.getValue();
+            int granted;
+            try {
+                granted = dailyCapacityService.reserveUpTo(entry.getKey(), rows.size());
+            } catch (BookingException e) {
+                granted = 0;
+            }
+            for (int k = 0; k < rows.size(); k++) {
+                int row = rows.get(k);
+                if (k < granted) {
+                    accepted.add(row);
+                } else {
+                    results[row] = new BatchItemResult(row + 1, null, false, "No capacity left on " + entry.getKey());
+                }
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+            // Price the whole batch with one version of the pricing rules
+            PricingTable pricingTable = locationPricingService.getTable();
+            for (int row : accepted) {
+                Booking booking = bookings.get(row);
+                booking.setId(new ObjectId().toHexString());
+                PriceQuote quote = pricingTable.quote(booking.getPrice(), booking.getLocation(),
+                        booking.getPackageName(), booking.getDateTime().toLocalDate());
+                booking.setPrice(quote.getTotal());
+                booking.setLocation(quote.getLocation());
+                bulkOps.insert(booking);
+            }
+
+            Set<Integer> failedWrites = new HashSet<>();
+            Map<Integer, String> writeErrors = new HashMap<>();
+            try {
+                bulkOps.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failedWrites.add(error.getIndex());
+                    writeErrors.put(error.getIndex(), error.getMessage());
+                }
+            }
+
+            for (int k = 0; k < accepted.size(); k++) {
+                int row = accepted.get(k);
+                Booking booking = bookings.get(row);
+                if (failedWrites.contains(k)) {
+                    LocalDate day = booking.getDateTime().toLocalDate();
+                    dailyCapacityService.releaseMany(day, 1);
+                    results[row] = new BatchItemResult(row + 1, null, false, "Write failed: " + writeErrors.get(k));
+                    continue;
+                }
+                results[row] = new BatchItemResult(row + 1, booking.getId(), true, null);
+                eventPublisher.publishEvent(EntityChangedEvent.bookingCreated(booking.getId(), booking.getPaymentStatus()));
+            }
+        }
+
+        BatchResult result = BatchResult.of(List.of(results));
+        logger.info("Imported {} of {} bookings", result.getSucceeded(), bookings.size());
+        return result;
+    }
+
+    /**
+     * Applies one status and/or payment transition to many bookings with a single bulk write.
+     * Each booking is only updated if it has not changed since it was read. Every update in the
+     * batch also stamps a token unique to this request, and a booking counts as written (and its
+     * slot is released) only if it carries that token when read back.
+     */
+    public BatchResult updateStatuses(BatchStatusUpdate request) {
+        List<String> ids = request.getBookingIds() == null ? List.of() : request.getBookingIds();
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot update more than " + MAX_BATCH_SIZE + " bookings at once");
+        }
+        BookingStatus newStatus = request.getBookingStatus();
+        PaymentStatus newPayment = request.getPaymentStatus();
+        if (newStatus == null && newPayment == null) {
+            throw new IllegalArgumentException("bookingStatus or paymentStatus is required");
+        }
+
+        Map<String, Booking> existing = new HashMap<>();
+        bookingRepository.findAllById(ids).forEach(b -> existing.put(b.getId(), b));
+
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> pending = new ArrayList<>();
+        Map<Integer, Booking> before = new HashMap<>();
+        Map<Integer, StaffScheduleService.Placement> previousPlacements = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            Booking booking = existing.get(id);
+            if (booking == null) {
+                results[i] = new BatchItemResult(i + 1, id, false, "Booking not found");
+                continue;
+            }
+            if (!seen.add(id)) {
+                results[i] = new BatchItemResult(i + 1, id, false, "Duplicate booking id in request");
+                continue;
+            }
+            BookingStatus status = newStatus != null ? newStatus : booking.getBookingStatus();
+            PaymentStatus payment = newPayment != null ? newPayment : booking.getPaymentStatus();
+            if (status == booking.getBookingStatus() && payment == booking.getPaymentStatus()) {
+                results[i] = new BatchItemResult(i + 1, id, true, "Unchanged");
+                continue;
+            }
+
+            Booking previous = copyStatus(booking);
+            try {
+                // Only upcoming bookings change status, so a status change frees the staff member
+                booking.changeBookingStatus(status);
+                booking.changePaymentStatus(payment);
+                if (status != previous.getBookingStatus()) {
+                    previousPlacements.put(i, staffScheduleService.reserve(booking));
+                }
+            } catch (BookingException e) {
+                booking.setBookingStatus(previous.getBookingStatus());
+                booking.setPaymentStatus(previous.getPaymentStatus());
+                booking.setPaymentOverdue(previous.isPaymentOverdue());
+                results[i] = new BatchItemResult(i + 1, id, false, e.getMessage());
+                continue;
+            }
+            before.put(i, previous);
+            pending.add(i);
+        }
+
+        if (!pending.isEmpty()) {
+            String statusChangeId = new ObjectId().toHexString();
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+            for (int i : pending) {
+                Booking previous = before.get(i);
+                Booking booking = existing.get(ids.get(i));
+                Query query = new Query(Criteria.where("_id").is(booking.getId())
+                        .and("bookingStatus").is(previous.getBookingStatus().getValue())
+                        .and("paymentStatus").is(previous.getPaymentStatus().getValue()));
+                Update update = new Update()
+                        .set("bookingStatus", booking.getBookingStatus().getValue())
+                        .set("paymentStatus", booking.getPaymentStatus().getValue())
+                        .set("statusChangeId", statusChangeId);
+                if (booking.getPaymentStatus() != PaymentStatus.PENDING) {
+                    update.set("paymentOverdue", false);
+                }
+                bulkOps.updateOne(query, update);
+            }
+            bulkOps.execute();
+
+            // Re-read the tokens to tell which conditional updates matched; equal statuses alone could
+            // have been written by a concurrent request making the same change
+            Query query = new Query(Criteria.where("_id").in(pending.stream().map(ids::get).toList())
+                    .and("statusChangeId").is(statusChangeId));
+            query.fields().include("_id");
+            Set<String> written = new HashSet<>();
+            mongoTemplate.find(query, Booking.class).forEach(b -> written.add(b.getId()));
+
+            for (int i : pending) {
+                Booking booking = existing.get(ids.get(i));
+                Booking previous = before.get(i);
+                if (!written.contains(booking.getId())) {
+                    if (previousPlacements.containsKey(i)) {
+                        staffScheduleService.restore(booking.getId(), previousPlacements.get(i));
+                    }
+                    results[i] = new BatchItemResult(i + 1, booking.getId(), false,
+                            "Booking was changed by another request; reload and retry");
+                    continue;
+                }
+                if (booking.getBookingStatus() == BookingStatus.CANCELLED
+                        && previous.getBookingStatus() != BookingStatus.CANCELLED) {
+                    dailyCapacityService.release(booking.getDateTime());
+                }
+                results[i] = new BatchItemResult(i + 1, booking.getId(), true, null);
+                eventPublisher.publishEvent(EntityChangedEvent.bookingUpdated(
+                        booking.getId(), previous.getPaymentStatus(), booking.getPaymentStatus()));
+            }
+        }
+
+        BatchResult result = BatchResult.of(List.of(results));
+        logger.info("Updated {} of {} bookings in batch", result.getSucceeded(), ids.size());
+        return result;
+    }
+
+    private static Booking copyStatus(Booking booking) {
+        Booking copy = new Booking();
+        copy.setBookingStatus(booking.getBookingStatus());
+        copy.setPaymentStatus(booking.getPaymentStatus());
+        copy.setPaymentOverdue(booking.isPaymentOverdue());
+        return copy;
+    }
+
+    private static Booking toBooking(List<String> columns, List<String> values) {
+        Booking booking = new Booking();
+        for (int c = 0; c < columns.size() && c < values.size(); c++) {
+            String value = values.get(c).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (columns.get(c).toLowerCase(Locale.ROOT)) {
+                case "datetime" -> booking.setDateTime(LocalDateTime.parse(value.length() == 16 ? value + ":00" : value));
+                case "clientid" -> booking.setClientId(value);
+                case "email" -> booking.setEmail(value);
+                case "phonenumber" -> booking.setPhoneNumber(value);
+                case "location" -> booking.setLocation(value);
+                case "packagename" -> booking.setPackageName(value);
+                case "price" -> booking.setPrice(Double.parseDouble(value));
+                case "bookingstatus" -> booking.setBookingStatus(BookingStatus.parse(value));
+                case "paymentstatus" -> booking.setPaymentStatus(PaymentStatus.parse(value));
+                default -> throw new IllegalArgumentException("Unknown column " + columns.get(c));
+            }
+        }
+        if (booking.getDateTime() == null) {
+            throw new IllegalArgumentException("dateTime is required");
+        }
+        return booking;
+    }
+
+    /**
+     * Splits RFC 4180 style CSV into records: fields may be quoted, quotes inside quoted
+     * fields are doubled, and quoted fields may span lines. Blank lines are skipped.
+     */
+    static List<List<String>> parseCsv(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (fieldStarted || field.length() > 0) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append(ch);
+            }
+        }
+        if (fieldStarted || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
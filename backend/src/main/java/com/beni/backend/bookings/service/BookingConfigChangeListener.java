@@ -0,0 +1,72 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.BookingConfig;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the cached booking configuration in sync with changes made by other
+ * backend nodes. A Mongo change stream on booking_config is used when the
+ * server supports it (replica sets); otherwise the stored version is polled.
+ */
+@Component
+public class BookingConfigChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(BookingConfigChangeListener.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingConfigService bookingConfigService;
+
+    private volatile boolean changeStreamActive;
+
+    public BookingConfigChangeListener(MongoTemplate mongoTemplate, BookingConfigService bookingConfigService) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingConfigService = bookingConfigService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWatching() {
+        Thread.ofPlatform().daemon().name("booking-config-watcher").start(this::watch);
+    }
+
+    // Fallback for standalone servers, or when the change stream has stopped
+    @Scheduled(fixedDelayString = "${bookings.config.poll-interval-ms:30000}")
+    public void pollForChanges() {
+        if (!changeStreamActive) {
+            try {
+                bookingConfigService.refreshIfStale();
+            } catch (Exception e) {
+                logger.warn("Could not check booking configuration version: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void watch() {
+        String collectionName = mongoTemplate.getCollectionName(BookingConfig.class);
+        try (MongoCursor<ChangeStreamDocument<Document>> cursor =
+                     mongoTemplate.getCollection(collectionName).watch().cursor()) {
+            changeStreamActive = true;
+            // Pick up anything that changed between startup and the stream opening
+            bookingConfigService.refresh();
+            logger.info("Watching {} for configuration changes", collectionName);
+            while (cursor.hasNext()) {
+                cursor.next();
+                bookingConfigService.refresh();
+            }
+        } catch (MongoCommandException e) {
+            logger.info("Change streams unavailable ({}), polling booking configuration instead", e.getErrorMessage());
+        } catch (Exception e) {
+            logger.warn("Booking configuration change stream stopped, polling instead: {}", e.getMessage());
+        } finally {
+            changeStreamActive = false;
+        }
+    }
+}
@@ -1,34 +1,62 @@
 package com.beni.backend.bookings.service;
 
+import com.beni.backend.bookings.exception.ConfigVersionConflictException;
 import com.beni.backend.bookings.model.BookingConfig;
+import com.beni.backend.bookings.model.BookingConfigSnapshot;
 import com.beni.backend.bookings.repository.BookingConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Optional;
 
 @Service
 public class BookingConfigService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingConfigService.class);
+
     private final BookingConfigRepository bookingConfigRepository;
+    private final MongoTemplate mongoTemplate;
     private static final String DEFAULT_CONFIG_ID = "default";
 
+    // Current configuration, replaced as a whole whenever the stored config changes
+    private volatile BookingConfigSnapshot snapshot;
+
     @Autowired
-    public BookingConfigService(BookingConfigRepository bookingConfigRepository) {
+    public BookingConfigService(BookingConfigRepository bookingConfigRepository, MongoTemplate mongoTemplate) {
         this.bookingConfigRepository = bookingConfigRepository;
+        this.mongoTemplate = mongoTemplate;
         initializeDefaultConfig();
+        this.snapshot = BookingConfigSnapshot.from(loadConfig());
+    }
+
+    /**
+     * Returns the in-memory configuration snapshot without touching the database
+     */
+    public BookingConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
-    @Transactional(readOnly = true)
     public BookingConfig getConfig() {
-        return bookingConfigRepository.findById(DEFAULT_CONFIG_ID)
-                .orElseThrow(() -> new RuntimeException("Booking configuration not found"));
+        return snapshot.toConfig(DEFAULT_CONFIG_ID);
     }
 
-    @Transactional
+    /**
+     * Applies the non-null fields of newConfig. The write only succeeds if the stored version is
+     * still the one read here, and the one the client sent if it sent one.
+     * @throws ConfigVersionConflictException if another update was saved first
+     */
     public BookingConfig updateConfig(BookingConfig newConfig) {
-        BookingConfig existingConfig = getConfig();
-        
+        BookingConfig existingConfig = loadConfig();
+        Long readVersion = existingConfig.getVersion();
+        // A config saved before versioning has no version yet; clients see it as version 0
+        long currentVersion = readVersion != null ? readVersion : 0L;
+        if (newConfig.getVersion() != null && newConfig.getVersion() != currentVersion) {
+            throw new ConfigVersionConflictException("Booking configuration was changed by someone else (now version "
+                    + currentVersion + "); reload and try again");
+        }
+
         // Update only the fields that are not null in the new config
         if (newConfig.getMaxBookingsPerDay() != null) {
             existingConfig.setMaxBookingsPerDay(newConfig.getMaxBookingsPerDay());
@@ -52,13 +80,57 @@ public class BookingConfigService {
             existingConfig.setCancellationWindowHours(newConfig.getCancellationWindowHours());
         }
 
-        return bookingConfigRepository.save(existingConfig);
+        existingConfig.setVersion(currentVersion + 1);
+
+        // Compare-and-set on the version so concurrent saves on different nodes cannot both win
+        Query unchanged = new Query(Criteria.where("_id").is(DEFAULT_CONFIG_ID).and("version").is(readVersion));
+        if (mongoTemplate.findAndReplace(unchanged, existingConfig) == null) {
+            throw new ConfigVersionConflictException("Booking configuration was changed by someone else; reload and try again");
+        }
+        swap(BookingConfigSnapshot.from(existingConfig));
+        return existingConfig;
+    }
+
+    /**
+     * Reloads the configuration from the database and swaps in the new snapshot
+     */
+    public void refresh() {
+        swap(BookingConfigSnapshot.from(loadConfig()));
+    }
+
+    /**
+     * Reloads the configuration only if the stored version differs from the cached one
+     */
+    public void refreshIfStale() {
+        Query query = new Query(Criteria.where("_id").is(DEFAULT_CONFIG_ID));
+        query.fields().include("version");
+        BookingConfig stored = mongoTemplate.findOne(query, BookingConfig.class);
+        long storedVersion = stored != null && stored.getVersion() != null ? stored.getVersion() : 0L;
+        if (storedVersion != snapshot.getVersion()) {
+            refresh();
+        }
+    }
+
+    private synchronized void swap(BookingConfigSnapshot next) {
+        // Never replace a newer snapshot with an older one when refreshes race
+        if (snapshot == null || next.getVersion() >= snapshot.getVersion()) {
+            if (snapshot != null && next.getVersion() != snapshot.getVersion()) {
+                logger.info("Booking configuration updated to version {}", next.getVersion());
+            }
+            snapshot = next;
+        }
+    }
+
+    private BookingConfig loadConfig() {
+        return bookingConfigRepository.findById(DEFAULT_CONFIG_ID)
+                .orElseThrow(() -> new RuntimeException("Booking configuration not found"));
     }
 
     private void initializeDefaultConfig() {
         if (!bookingConfigRepository.existsById(DEFAULT_CONFIG_ID)) {
             BookingConfig defaultConfig = new BookingConfig();
             defaultConfig.setId(DEFAULT_CONFIG_ID);
+            defaultConfig.setVersion(0L);
             defaultConfig.setMaxBookingsPerDay(3);
             defaultConfig.setMinAdvanceBookingDays(1);
             defaultConfig.setMaxAdvanceBookingDays(30);
@@ -69,4 +141,4 @@ public class BookingConfigService {
             bookingConfigRepository.save(defaultConfig);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.Booking;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field-level checks for a booking in a single pass. The phone, email and location formats are
+ * checked with hand-written scanners equivalent to the patterns and @Email rule they replace, so a
+ * valid booking is checked without compiling a regex or allocating.
+ */
+@Component
+public class BookingFieldValidator {
+    private static final int LOCATION_MIN_LENGTH = 5;
+    private static final int LOCATION_MAX_LENGTH = 100;
+    private static final int EMAIL_LOCAL_MAX_LENGTH = 64;
+    private static final int EMAIL_DOMAIN_MAX_LENGTH = 255;
+    private static final int EMAIL_LABEL_MAX_LENGTH = 63;
+
+    /**
+     * Returns every field error keyed by field name, in field order; empty when the booking is valid
+     */
+    public Map<String, String> validate(Booking booking) {
+        Map<String, String> errors = null;
+
+        LocalDateTime dateTime = booking.getDateTime();
+        if (dateTime == null) {
+            errors = add(errors, "dateTime", "Booking date is required");
+        } else if (dateTime.isBefore(LocalDateTime.now())) {
+            errors = add(errors, "dateTime", "Booking date must be in the future");
+        }
+        if (isBlank(booking.getClientId())) {
+            errors = add(errors, "clientId", "Client ID is required");
+        }
+        // Unknown status values are already rejected when the request body is read
+        if (booking.getBookingStatus() == null) {
+            errors = add(errors, "bookingStatus", "Booking status is required");
+        }
+        if (booking.getPaymentStatus() == null) {
+            errors = add(errors, "paymentStatus", "Payment status is required");
+        }
+        if (isBlank(booking.getPhoneNumber())) {
+            errors = add(errors, "phoneNumber", "Phone number is required");
+        } else if (!isPhoneNumber(booking.getPhoneNumber())) {
+            errors = add(errors, "phoneNumber", "Invalid phone number format");
+        }
+        if (isBlank(booking.getEmail())) {
+            errors = add(errors, "email", "Email is required");
+        } else if (!isEmail(booking.getEmail())) {
+            errors = add(errors, "email", "Invalid email format");
+        }
+        if (isBlank(booking.getLocation())) {
+            errors = add(errors, "location", "Location is required");
+        } else if (!isLocation(booking.getLocation())) {
+            errors = add(errors, "location", "Location must be between 5 and 100 characters and contain only "
+                    + "letters, numbers, spaces, commas, dots, and hyphens");
+        }
+        if (isBlank(booking.getPackageName())) {
+            errors = add(errors, "packageName", "Package name is required");
+        }
+        if (booking.getPrice() <= 0) {
+            errors = add(errors, "price", "Price must be greater than 0");
+        }
+        return errors != null ? errors : Map.of();
+    }
+
+    // Only allocate the map once there is something to report
+    static Map<String, String> add(Map<String, String> errors, String field, String message) {
+        if (errors == null) {
+            errors = new LinkedHashMap<>();
+        }
+        errors.putIfAbsent(field, message);
+        return errors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // ^[+]?[(]?[0-9]{3}[)]?[-. ]?[0-9]{3}[-. ]?[0-9]{4,6}$
+    static boolean isPhoneNumber(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && value.charAt(i) == '+') {
+            i++;
+        }
+        if (i < length && value.charAt(i) == '(') {
+            i++;
+        }
+        i = digits(value, i, 3);
+        if (i < 0) {
+            return false;
+        }
+        if (i < length && value.charAt(i) == ')') {
+            i++;
+        }
+        if (i < length && isPhoneSeparator(value.charAt(i))) {
+            i++;
+        }
+        i = digits(value, i, 3);
+        if (i < 0) {
+            return false;
+        }
+        if (i < length && isPhoneSeparator(value.charAt(i))) {
+            i++;
+        }
+        int subscriber = length - i;
+        return subscriber >= 4 && subscriber <= 6 && digits(value, i, subscriber) == length;
+    }
+
+    // ^[A-Za-z0-9+_.-]+@(.+)$ narrowed by the rules @Email applied alongside it: the local part is
+    // dot-separated atoms of at most 64 characters, and the domain at most 255 characters of
+    // dot-separated labels, each 1-63 letters, digits and inner hyphens
+    static boolean isEmail(String value) {
+        int length = value.length();
+        int at = value.indexOf('@');
+        if (at < 1 || at > EMAIL_LOCAL_MAX_LENGTH || length - at - 1 > EMAIL_DOMAIN_MAX_LENGTH) {
+            return false;
+        }
+        char previous = '.';
+        for (int i = 0; i < at; i++) {
+            char c = value.charAt(i);
+            if (!isEmailLocalChar(c) || (c == '.' && previous == '.')) {
+                return false;
+            }
+            previous = c;
+        }
+        if (previous == '.') {
+            return false;
+        }
+        int label = 0;
+        for (int i = at + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (label == 0 || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                label = 0;
+            } else if (isAsciiLetterOrDigit(c) || (c == '-' && label > 0)) {
+                if (++label > EMAIL_LABEL_MAX_LENGTH) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return label > 0 && value.charAt(length - 1) != '-';
+    }
+
+    // ^[a-zA-Z0-9\s,.-]{5,100}$
+    static boolean isLocation(String value) {
+        int length = value.length();
+        if (length < LOCATION_MIN_LENGTH || length > LOCATION_MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && !isRegexWhitespace(c) && c != ',' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Index after exactly count ASCII digits starting at from, or -1
+    private static int digits(String value, int from, int count) {
+        if (from + count > value.length()) {
+            return -1;
+        }
+        for (int i = from; i < from + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return from + count;
+    }
+
+    private static boolean isPhoneSeparator(char c) {
+        return c == '-' || c == ' ' || c == '.';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    // The characters matched by \s
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
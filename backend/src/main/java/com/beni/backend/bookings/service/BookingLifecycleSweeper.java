@@ -0,0 +1,163 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.LifecycleState;
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.common.LeaseLockService;
+import com.beni.backend.events.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marks upcoming bookings as completed once their date has passed.
+ *
+ * Each run walks the (bookingStatus, dateTime) index from a stored watermark
+ * in fixed-size batches and completes every batch with one updateMany that
+ * also flags bookings whose payment is still pending as overdue. A Mongo
+ * lease makes sure only one instance sweeps at a time; the watermark, minus
+ * a lookback for bookings reopened into the past, keeps runs from rescanning
+ * the whole collection.
+ */
+@Service
+public class BookingLifecycleSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(BookingLifecycleSweeper.class);
+    private static final String LOCK_NAME = "booking-lifecycle";
+    private static final String STATE_ID = "sweeper";
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseLockService leaseLockService;
+    private final StaffScheduleService staffScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // How long after its start a booking counts as finished
+    @Value("${bookings.lifecycle.complete-after-hours:12}")
+    private int completeAfterHours;
+
+    @Value("${bookings.lifecycle.lookback-hours:72}")
+    private int lookbackHours;
+
+    @Value("${bookings.lifecycle.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bookings.lifecycle.lease-seconds:120}")
+    private int leaseSeconds;
+
+    public BookingLifecycleSweeper(
+            MongoTemplate mongoTemplate,
+            LeaseLockService leaseLockService,
+            StaffScheduleService staffScheduleService,
+            ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseLockService = leaseLockService;
+        this.staffScheduleService = staffScheduleService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${bookings.lifecycle.interval-ms:600000}", initialDelayString = "${bookings.lifecycle.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * Completes all past upcoming bookings, unless another instance is already sweeping
+     * @return The number of bookings completed, or -1 if the lease is held elsewhere
+     */
+    public long sweep() {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        if (!leaseLockService.tryAcquire(LOCK_NAME, lease)) {
+            logger.debug("Booking lifecycle sweep skipped; another instance holds the lease");
+            return -1;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime cutoff = now.minusHours(completeAfterHours);
+            LifecycleState state = mongoTemplate.findById(STATE_ID, LifecycleState.class);
+            LocalDateTime from = state != null && state.getWatermark() != null
+                    ? state.getWatermark().minusHours(lookbackHours)
+                    : null;
+
+            long completed = 0;
+            while (true) {
+                Criteria criteria = Criteria.where("bookingStatus").is(BookingStatus.UPCOMING.getValue());
+                criteria = from != null
+                        ? criteria.and("dateTime").gte(from).lt(cutoff)
+                        : criteria.and("dateTime").lt(cutoff);
+                Query batchQuery = new Query(criteria)
+                        .with(Sort.by(Sort.Direction.ASC, "dateTime"))
+                        .limit(batchSize);
+                batchQuery.fields().include("dateTime", "paymentStatus");
+                List<Booking> batch = mongoTemplate.find(batchQuery, Booking.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                List<String> ids = batch.stream().map(Booking::getId).toList();
+                AggregationUpdate update = AggregationUpdate.update()
+                        .set("bookingStatus").toValue(BookingStatus.COMPLETED.getValue())
+                        .set("paymentOverdue").toValue(ComparisonOperators.valueOf("paymentStatus")
+                                .equalToValue(PaymentStatus.PENDING.getValue()));
+                long modified = mongoTemplate.updateMulti(
+                        new Query(Criteria.where("_id").in(ids).and("bookingStatus").is(BookingStatus.UPCOMING.getValue())),
+                        update, Booking.class).getModifiedCount();
+                completed += modified;
+
+                // Rows changed since the read were skipped by the update; only the ones now completed are announced
+                List<Booking> completedRows = batch;
+                if (modified < batch.size()) {
+                    Query completedQuery = new Query(Criteria.where("_id").in(ids)
+                            .and("bookingStatus").is(BookingStatus.COMPLETED.getValue()));
+                    completedQuery.fields().include("paymentStatus");
+                    completedRows = mongoTemplate.find(completedQuery, Booking.class);
+                }
+                for (Booking booking : completedRows) {
+                    staffScheduleService.release(booking.getId());
+                    eventPublisher.publishEvent(EntityChangedEvent.bookingCompleted(booking.getId(), booking.getPaymentStatus()));
+                }
+
+                // Completed bookings no longer match, so the next batch resumes at the last date seen
+                from = batch.get(batch.size() - 1).getDateTime();
+                saveWatermark(from, now, modified);
+                if (!leaseLockService.tryAcquire(LOCK_NAME, lease)) {
+                    logger.warn("Lost the booking lifecycle lease after completing {} bookings", completed);
+                    return completed;
+                }
+                if (batch.size() < batchSize || modified == 0) {
+                    break;
+                }
+            }
+
+            saveWatermark(cutoff, now, 0);
+            if (completed > 0) {
+                logger.info("Completed {} past bookings up to {}", completed, cutoff);
+            }
+            return completed;
+        } finally {
+            leaseLockService.release(LOCK_NAME);
+        }
+    }
+
+    private void saveWatermark(LocalDateTime watermark, LocalDateTime runAt, long completed) {
+        Query query = new Query(Criteria.where("_id").is(STATE_ID));
+        Update update = new Update()
+                .max("watermark", watermark)
+                .set("lastRunAt", runAt)
+                .inc("completedTotal", completed);
+        mongoTemplate.upsert(query, update, LifecycleState.class);
+    }
+}
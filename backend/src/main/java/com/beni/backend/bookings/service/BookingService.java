@@ -1,21 +1,24 @@
 package com.beni.backend.bookings.service;
 
 import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.exception.BookingValidationException;
 import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.bookings.model.PriceQuote;
 import com.beni.backend.bookings.repository.BookingRepository;
 import com.beni.backend.bookings.service.LocationPricingService;
 import com.beni.backend.bookings.service.BookingValidationService;
+import com.beni.backend.events.EntityChangedEvent;
+import com.beni.backend.staff.model.Staff;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
-import com.beni.backend.staff.model.Staff;
-import com.beni.backend.staff.repository.StaffRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service class for managing bookings
@@ -27,16 +30,24 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final LocationPricingService locationPricingService;
     private final BookingValidationService validationService;
+    private final DailyCapacityService dailyCapacityService;
+    private final ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private BookingStaffEnricher staffEnricher;
     @Autowired
-    private StaffRepository staffRepository;
+    private StaffScheduleService staffScheduleService;
 
     public BookingService(
             BookingRepository bookingRepository,
             LocationPricingService locationPricingService,
-            BookingValidationService validationService) {
+            BookingValidationService validationService,
+            DailyCapacityService dailyCapacityService,
+            ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
         this.locationPricingService = locationPricingService;
         this.validationService = validationService;
+        this.dailyCapacityService = dailyCapacityService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -49,16 +60,39 @@ public class BookingService {
         logger.info("Attempting to create booking for client: {}", booking.getClientId());
         
         try {
+            // A new booking starts upcoming, unpaid and unassigned whatever the client sent; staff are
+            // assigned later through the calendar check, and an id would overwrite an existing booking
+            if (booking.getBookingStatus() != null && booking.getBookingStatus() != BookingStatus.UPCOMING) {
+                throw new BookingException("New bookings must be upcoming");
+            }
+            booking.setId(null);
+            booking.setAssignedStaffId(null);
+            booking.setAssignedStaffName(null);
+            booking.setPaymentStatus(PaymentStatus.PENDING);
+            booking.setPaymentOverdue(false);
             validationService.validateBooking(booking);
             
-            // Calculate and set the final price based on location
-            double basePrice = booking.getPrice();
-            double finalPrice = locationPricingService.calculateTotalPrice(basePrice, booking.getLocation());
-            booking.setPrice(finalPrice);
+            // Calculate and set the final price from the location, package and date rules
+            PriceQuote quote = locationPricingService.quote(booking.getPrice(), booking.getLocation(),
+                    booking.getPackageName(), booking.getDateTime().toLocalDate());
+            booking.setPrice(quote.getTotal());
+            booking.setLocation(quote.getLocation());
 
-            Booking savedBooking = bookingRepository.save(booking);
+            // Reserve the day's slot before saving so the daily limit holds under concurrent requests
+            dailyCapacityService.reserve(booking.getDateTime());
+            Booking savedBooking;
+            try {
+                savedBooking = bookingRepository.save(booking);
+            } catch (RuntimeException e) {
+                dailyCapacityService.release(booking.getDateTime());
+                throw e;
+            }
+            eventPublisher.publishEvent(
+                    EntityChangedEvent.bookingCreated(savedBooking.getId(), savedBooking.getPaymentStatus()));
             logger.info("Successfully created booking with ID: {}", savedBooking.getId());
             return savedBooking;
+        } catch (BookingValidationException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error creating booking: {}", e.getMessage());
             throw new BookingException("Failed to create booking: " + e.getMessage(), e);
@@ -72,16 +106,7 @@ public class BookingService {
      */
     public List<Booking> getBookingsForClient(String clientId) {
         logger.info("Fetching bookings for client: {}", clientId);
-        List<Booking> bookings = bookingRepository.findByClientId(clientId);
-        
-        // Add staff information to each booking
-        bookings = bookings.stream().map(booking -> {
-            if (booking.getAssignedStaffId() != null) {
-                Optional<Staff> staff = staffRepository.findById(booking.getAssignedStaffId());
-                staff.ifPresent(s -> booking.setAssignedStaffName(s.getName()));
-            }
-            return booking;
-        }).collect(Collectors.toList());
+        List<Booking> bookings = staffEnricher.enrich(bookingRepository.findByClientId(clientId));
         
         logger.debug("Found {} bookings for client: {}", bookings.size(), clientId);
         return bookings;
@@ -102,17 +127,44 @@ public class BookingService {
                     .orElseThrow(() -> new BookingException("Booking not found"));
             
             // Check if booking is cancelled or completed
-            if ("cancelled".equals(booking.getBookingStatus())) {
+            if (booking.getBookingStatus() == BookingStatus.CANCELLED) {
                 throw new BookingException("Cannot reschedule a cancelled booking");
             }
-            if ("completed".equals(booking.getBookingStatus())) {
+            if (booking.getBookingStatus() == BookingStatus.COMPLETED) {
                 throw new BookingException("Cannot reschedule a completed booking");
             }
             
             validationService.validateReschedule(bookingId, newDateTime);
             
+            LocalDateTime previousDateTime = booking.getDateTime();
             booking.setDateTime(newDateTime);
-            Booking updatedBooking = bookingRepository.save(booking);
+
+            // The assigned staff member must be free at the new time
+            StaffScheduleService.Placement previousPlacement = staffScheduleService.reserve(booking);
+            boolean changesDay = dailyCapacityService.changesDay(previousDateTime, newDateTime);
+            Booking updatedBooking;
+            try {
+                if (changesDay) {
+                    dailyCapacityService.reserve(newDateTime);
+                }
+                try {
+                    if (!bookingRepository.replaceIfUnchanged(booking, BookingStatus.UPCOMING, previousDateTime)) {
+                        throw new BookingException("Booking was changed meanwhile; reload and try again");
+                    }
+                    updatedBooking = booking;
+                } catch (RuntimeException e) {
+                    if (changesDay) {
+                        dailyCapacityService.release(newDateTime);
+                    }
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                staffScheduleService.restore(bookingId, previousPlacement);
+                throw e;
+            }
+            if (changesDay) {
+                dailyCapacityService.release(previousDateTime);
+            }
             logger.info("Successfully rescheduled booking {} to: {}", bookingId, newDateTime);
             return updatedBooking;
         } catch (Exception e) {
@@ -133,20 +185,25 @@ public class BookingService {
                     .orElseThrow(() -> new BookingException("Booking not found"));
             
             // Check if booking is cancelled or completed
-            if ("cancelled".equals(booking.getBookingStatus())) {
+            if (booking.getBookingStatus() == BookingStatus.CANCELLED) {
                 throw new BookingException("Booking is already cancelled");
             }
-            if ("completed".equals(booking.getBookingStatus())) {
+            if (booking.getBookingStatus() == BookingStatus.COMPLETED) {
                 throw new BookingException("Cannot cancel a completed booking");
             }
             
             // Validate cancellation window first
             validationService.validateCancellation(bookingId);
             
-            booking.setBookingStatus("cancelled");
-            Booking cancelledBooking = bookingRepository.save(booking);
+            // Only the request that actually moves the booking out of upcoming frees its slot
+            booking.changeBookingStatus(BookingStatus.CANCELLED);
+            if (!bookingRepository.replaceIfUnchanged(booking, BookingStatus.UPCOMING, booking.getDateTime())) {
+                throw new BookingException("Booking was changed meanwhile; reload and try again");
+            }
+            dailyCapacityService.release(booking.getDateTime());
+            staffScheduleService.release(bookingId);
             logger.info("Successfully cancelled booking: {}", bookingId);
-            return cancelledBooking;
+            return booking;
         } catch (Exception e) {
             logger.error("Error cancelling booking: {}", e.getMessage());
             throw new BookingException("Failed to cancel booking: " + e.getMessage(), e);
@@ -168,7 +225,7 @@ public class BookingService {
      * @param bookingId The ID of the booking
      * @param staffId The ID of the staff member
      * @return The updated booking
-     * @throws BookingException if the booking doesn't exist
+     * @throws BookingException if the booking doesn't exist or the staff member is booked at that time
      */
     public Booking assignStaff(String bookingId, String staffId) {
         logger.info("Assigning staff {} to booking {}", staffId, bookingId);
@@ -178,7 +235,15 @@ public class BookingService {
                 throw new BookingException("Booking not found");
             }
             booking.setAssignedStaffId(staffId);
-            return bookingRepository.save(booking);
+
+            // Fails if the staff member has an overlapping booking
+            StaffScheduleService.Placement previousPlacement = staffScheduleService.reserve(booking);
+            try {
+                return staffEnricher.enrich(bookingRepository.save(booking));
+            } catch (RuntimeException e) {
+                staffScheduleService.restore(bookingId, previousPlacement);
+                throw e;
+            }
         } catch (Exception e) {
             logger.error("Error assigning staff: {}", e.getMessage());
             throw new BookingException("Failed to assign staff: " + e.getMessage(), e);
@@ -199,7 +264,10 @@ public class BookingService {
                 throw new BookingException("Booking not found");
             }
             booking.setAssignedStaffId(null);
-            return bookingRepository.save(booking);
+            booking.setAssignedStaffName(null);
+            Booking savedBooking = bookingRepository.save(booking);
+            staffScheduleService.release(bookingId);
+            return savedBooking;
         } catch (Exception e) {
             logger.error("Error unassigning staff: {}", e.getMessage());
             throw new BookingException("Failed to unassign staff: " + e.getMessage(), e);
@@ -217,8 +285,18 @@ public class BookingService {
      */
     public List<Booking> getBookingsForStaff(String staffId) {
         logger.info("Fetching bookings for staff: {}", staffId);
-        List<Booking> bookings = bookingRepository.findByAssignedStaffId(staffId);
+        List<Booking> bookings = staffEnricher.enrich(bookingRepository.findByAssignedStaffId(staffId));
         logger.debug("Found {} bookings for staff: {}", bookings.size(), staffId);
         return bookings;
     }
+
+    /**
+     * Finds the staff members who are free for a booking of the given package at the given time
+     * @param dateTime The start of the booking
+     * @param packageName The package, which determines the duration
+     * @return The free staff members
+     */
+    public List<Staff> getFreeStaff(LocalDateTime dateTime, String packageName) {
+        return staffScheduleService.findFreeStaff(dateTime, packageName);
+    }
 }
@@ -0,0 +1,94 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.staff.model.Staff;
+import com.beni.backend.staff.repository.StaffRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fills in assignedStaffName on booking lists. Distinct staff ids are resolved
+ * with a single findAllById and kept in a small, time-limited name cache.
+ */
+@Service
+public class BookingStaffEnricher {
+    private final StaffRepository staffRepository;
+    private final Map<String, CachedName> staffNames = new ConcurrentHashMap<>();
+
+    @Value("${bookings.staff-names.cache-ttl-ms:300000}")
+    private long cacheTtlMillis;
+
+    @Value("${bookings.staff-names.cache-size:1000}")
+    private int maxCacheSize;
+
+    public BookingStaffEnricher(StaffRepository staffRepository) {
+        this.staffRepository = staffRepository;
+    }
+
+    /**
+     * Sets the assigned staff name on every booking that has an assigned staff member
+     * @param bookings The bookings to enrich
+     * @return The same bookings, for chaining
+     */
+    public <T extends Collection<Booking>> T enrich(T bookings) {
+        long now = System.currentTimeMillis();
+        Map<String, String> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+
+        for (Booking booking : bookings) {
+            String staffId = booking.getAssignedStaffId();
+            if (staffId == null || resolved.containsKey(staffId) || missing.contains(staffId)) {
+                continue;
+            }
+            CachedName cached = staffNames.get(staffId);
+            if (cached != null && cached.expiresAt() > now) {
+                resolved.put(staffId, cached.name());
+            } else {
+                missing.add(staffId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            if (staffNames.size() + missing.size() > maxCacheSize) {
+                staffNames.clear();
+            }
+            for (Staff staff : staffRepository.findAllById(missing)) {
+                resolved.put(staff.getId(), staff.getName());
+                staffNames.put(staff.getId(), new CachedName(staff.getName(), now + cacheTtlMillis));
+            }
+        }
+
+        for (Booking booking : bookings) {
+            String name = booking.getAssignedStaffId() != null ? resolved.get(booking.getAssignedStaffId()) : null;
+            if (name != null) {
+                booking.setAssignedStaffName(name);
+            }
+        }
+        return bookings;
+    }
+
+    public Booking enrich(Booking booking) {
+        enrich(List.of(booking));
+        return booking;
+    }
+
+    /**
+     * Drops a cached staff name, e.g. after the staff member was renamed or deleted
+     */
+    public void evict(String staffId) {
+        if (staffId != null) {
+            staffNames.remove(staffId);
+        }
+    }
+
+    private record CachedName(String name, long expiresAt) {
+    }
+}
@@ -1,12 +1,15 @@
 package com.beni.backend.bookings.service;
 
 import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.exception.BookingValidationException;
 import com.beni.backend.bookings.model.Booking;
 import com.beni.backend.bookings.repository.BookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 public class BookingValidationService {
@@ -14,25 +17,38 @@ public class BookingValidationService {
     private BookingRepository bookingRepository;
     private final LocationPricingService locationPricingService;
     private final BookingConfigService bookingConfigService;
+    private final BookingFieldValidator fieldValidator;
 
     public BookingValidationService(
             LocationPricingService locationPricingService,
-            BookingConfigService bookingConfigService) {
+            BookingConfigService bookingConfigService,
+            BookingFieldValidator fieldValidator) {
         this.locationPricingService = locationPricingService;
         this.bookingConfigService = bookingConfigService;
+        this.fieldValidator = fieldValidator;
     }
 
     /**
-     * Validates a booking for creation
+     * Validates a booking for creation in one pass, reporting every failing field together
      * @param booking The booking to validate
-     * @throws BookingException if validation fails
+     * @throws BookingValidationException if validation fails
      */
     public void validateBooking(Booking booking) {
-        validateLocation(booking.getLocation());
-        validateBookingLimit(booking.getDateTime());
-        validateAdvanceBooking(booking.getDateTime());
-        validateNotInPast(booking.getDateTime());
-        validateBookingData(booking);
+        Map<String, String> fieldErrors = fieldValidator.validate(booking);
+        Map<String, String> errors = fieldErrors.isEmpty() ? null : new LinkedHashMap<>(fieldErrors);
+
+        if (!fieldErrors.containsKey("location") && !locationPricingService.isValidLocation(booking.getLocation())) {
+            errors = BookingFieldValidator.add(errors, "location", "Invalid location provided");
+        }
+        if (!fieldErrors.containsKey("dateTime")) {
+            String advanceError = advanceBookingError(booking.getDateTime());
+            if (advanceError != null) {
+                errors = BookingFieldValidator.add(errors, "dateTime", advanceError);
+            }
+        }
+        if (errors != null) {
+            throw new BookingValidationException(errors);
+        }
     }
 
     /**
@@ -45,41 +61,29 @@ public class BookingValidationService {
         if (bookingRepository.findById(bookingId).isEmpty()) {
             throw new BookingException("Booking not found");
         }
-        validateBookingLimit(newDateTime);
         validateRescheduleWindow(bookingId, newDateTime);
     }
 
-    private void validateLocation(String location) {
-        if (!locationPricingService.isValidLocation(location)) {
-            throw new BookingException("Invalid location provided");
-        }
-    }
-
-    public void validateBookingLimit(LocalDateTime dateTime) {
-        var startOfDay = dateTime.toLocalDate().atStartOfDay();
-        var endOfDay = dateTime.toLocalDate().atTime(23, 59, 59);
-        
-        long bookingsForDay = bookingRepository.countByDateTimeBetween(startOfDay, endOfDay);
-        var config = bookingConfigService.getConfig();
-        int maxBookingsPerDay = config.getMaxBookingsPerDay();
-        
-        if (bookingsForDay >= maxBookingsPerDay) {
-            throw new BookingException("Cannot create more than " + maxBookingsPerDay + " bookings per day");
+    public void validateAdvanceBooking(LocalDateTime dateTime) {
+        String error = advanceBookingError(dateTime);
+        if (error != null) {
+            throw new BookingException(error);
         }
     }
 
-    public void validateAdvanceBooking(LocalDateTime dateTime) {
-        var config = bookingConfigService.getConfig();
+    private String advanceBookingError(LocalDateTime dateTime) {
+        var config = bookingConfigService.getSnapshot();
         var now = LocalDateTime.now();
         var daysInAdvance = java.time.temporal.ChronoUnit.DAYS.between(now.toLocalDate(), dateTime.toLocalDate());
         
         if (daysInAdvance < config.getMinAdvanceBookingDays()) {
-            throw new BookingException("Bookings must be made at least " + config.getMinAdvanceBookingDays() + " days in advance");
+            return "Bookings must be made at least " + config.getMinAdvanceBookingDays() + " days in advance";
         }
         
         if (daysInAdvance > config.getMaxAdvanceBookingDays()) {
-            throw new BookingException("Bookings cannot be made more than " + config.getMaxAdvanceBookingDays() + " days in advance");
+            return "Bookings cannot be made more than " + config.getMaxAdvanceBookingDays() + " days in advance";
         }
+        return null;
     }
 
     public void validateNotInPast(LocalDateTime dateTime) {
@@ -88,20 +92,10 @@ public class BookingValidationService {
         }
     }
 
-    private void validateBookingData(Booking booking) {
-        if (!booking.isValid()) {
-            throw new BookingException("Invalid booking data");
-        }
-        
-        // Validate against booking config
-        var config = bookingConfigService.getConfig();
-        validateAdvanceBooking(booking.getDateTime());
-    }
-
     private void validateRescheduleWindow(String bookingId, LocalDateTime newDateTime) {
         var booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingException("Booking not found"));
-        var config = bookingConfigService.getConfig();
+        var config = bookingConfigService.getSnapshot();
         var now = LocalDateTime.now();
         
         // Check if rescheduling is allowed within the window
@@ -121,7 +115,7 @@ public class BookingValidationService {
     }
 
     private void validateCancellationWindow(Booking booking) {
-        var config = bookingConfigService.getConfig();
+        var config = bookingConfigService.getSnapshot();
         var now = LocalDateTime.now();
         
         // Check if cancellation is allowed within the window
@@ -0,0 +1,309 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.DailyCapacity;
+import com.beni.backend.common.LeaseLockService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintains the per-day booking capacity ledger ({@code daily_capacity}).
+ *
+ * A slot is reserved with a single conditional increment, so the
+ * maxBookingsPerDay limit holds even when several bookings for the same day
+ * arrive at once. Slots are released again when a booking is cancelled,
+ * deleted or moved to another day.
+ *
+ * Per-month views of the ledger are cached for the availability calendar and
+ * dropped whenever a slot in that month is reserved or released.
+ */
+@Service
+public class DailyCapacityService {
+    private static final Logger logger = LoggerFactory.getLogger(DailyCapacityService.class);
+    private static final String REBUILD_LOCK = "daily-capacity-rebuild";
+    // Marker recorded after the first full rebuild, so a deployment that predates the ledger is seeded once
+    private static final String MIGRATIONS = "migrations";
+    private static final String SEED_MARKER = "daily-capacity-seeded";
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingConfigService bookingConfigService;
+    private final LeaseLockService leaseLockService;
+
+    // Off by default: every instance would otherwise rebuild on each start of a rolling deploy.
+    // The first start against a database without the seed marker rebuilds regardless
+    @Value("${bookings.capacity.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // Bounds how long changes made by other instances stay invisible in the month views
+    @Value("${bookings.availability.cache-ttl-ms:60000}")
+    private long monthCacheTtlMillis;
+
+    private record MonthView(Map<LocalDate, Integer> reserved, long loadedAt) {
+    }
+
+    private final Map<YearMonth, MonthView> months = new ConcurrentHashMap<>();
+
+    // Bumped on every ledger write; a month loaded while it changed is returned but not cached
+    private final AtomicLong writes = new AtomicLong();
+
+    public DailyCapacityService(MongoTemplate mongoTemplate, BookingConfigService bookingConfigService,
+                                LeaseLockService leaseLockService) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingConfigService = bookingConfigService;
+        this.leaseLockService = leaseLockService;
+    }
+
+    /**
+     * Reserves one booking slot on the day of the given date/time
+     * @param dateTime The date/time of the booking
+     * @throws BookingException if the day is already fully booked
+     */
+    public void reserve(LocalDateTime dateTime) {
+        int maxBookingsPerDay = bookingConfigService.getSnapshot().getMaxBookingsPerDay();
+        String day = dayKey(dateTime);
+
+        Query query = new Query(Criteria.where("_id").is(day).and("reserved").lt(maxBookingsPerDay));
+        Update update = new Update().inc("reserved", 1);
+
+        DailyCapacity reserved;
+        try {
+            // Upsert creates the ledger entry for the first booking of the day. When the day is full the
+            // filter no longer matches the existing entry, so the upsert collides on _id instead.
+            reserved = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), DailyCapacity.class);
+        } catch (DuplicateKeyException e) {
+            // Either the day is full or a concurrent request created the entry first; retry without upsert
+            reserved = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), DailyCapacity.class);
+        }
+
+        if (reserved == null) {
+            throw new BookingException("Cannot create more than " + maxBookingsPerDay + " bookings per day");
+        }
+        invalidate(dateTime.toLocalDate());
+        logger.debug("Reserved slot {}/{} on {}", reserved.getReserved(), maxBookingsPerDay, day);
+    }
+
+    /**
+     * Reserves up to count slots on one day for a batch of bookings
+     * @param day The day
+     * @param count The number of slots wanted
+     * @return The number of slots reserved, which is less than count when the day fills up
+     */
+    public int reserveUpTo(LocalDate day, int count) {
+        int maxBookingsPerDay = bookingConfigService.getSnapshot().getMaxBookingsPerDay();
+        String key = day.toString();
+        // Compare-and-set on the current count; retried only when another writer got in between
+        for (int attempt = 0; attempt < 10; attempt++) {
+            DailyCapacity current = mongoTemplate.findById(key, DailyCapacity.class);
+            int reservedNow = current != null ? current.getReserved() : 0;
+            int granted = Math.min(count, maxBookingsPerDay - reservedNow);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (current == null) {
+                try {
+                    mongoTemplate.insert(new DailyCapacity(key, granted));
+                    invalidate(day);
+                    return granted;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+            Query query = new Query(Criteria.where("_id").is(key).and("reserved").is(reservedNow));
+            if (mongoTemplate.updateFirst(query, new Update().inc("reserved", granted), DailyCapacity.class)
+                    .getModifiedCount() == 1) {
+                invalidate(day);
+                return granted;
+            }
+        }
+        throw new BookingException("Too many concurrent bookings for " + key + ", please retry");
+    }
+
+    /**
+     * Releases slots reserved with {@link #reserveUpTo} that were not used
+     */
+    public void releaseMany(LocalDate day, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Query query = new Query(Criteria.where("_id").is(day.toString()).and("reserved").gte(count));
+        mongoTemplate.updateFirst(query, new Update().inc("reserved", -count), DailyCapacity.class);
+        invalidate(day);
+    }
+
+    /**
+     * Releases a previously reserved booking slot
+     * @param dateTime The date/time of the booking that no longer holds a slot
+     */
+    public void release(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return;
+        }
+        String day = dayKey(dateTime);
+        Query query = new Query(Criteria.where("_id").is(day).and("reserved").gt(0));
+        mongoTemplate.updateFirst(query, new Update().inc("reserved", -1), DailyCapacity.class);
+        invalidate(dateTime.toLocalDate());
+        logger.debug("Released slot on {}", day);
+    }
+
+    /**
+     * Checks whether a booking moving between the two date/times needs a slot on a different day
+     */
+    public boolean changesDay(LocalDateTime from, LocalDateTime to) {
+        return from == null || !from.toLocalDate().equals(to.toLocalDate());
+    }
+
+    /**
+     * Recomputes the ledger for today and all future days from the bookings collection.
+     *
+     * Counts are grouped in Mongo and only days whose stored count differs are
+     * overwritten. A reservation made while the rebuild runs can still be
+     * overwritten, so this is a repair for a quiet period rather than a routine
+     * job. The lease keeps two instances from rebuilding at once, and a
+     * successful rebuild records the seed marker.
+     * @return false if another instance is already rebuilding
+     */
+    public boolean rebuild() {
+        if (!leaseLockService.tryAcquire(REBUILD_LOCK, Duration.ofMinutes(10))) {
+            logger.info("Daily capacity rebuild skipped; another instance holds the lease");
+            return false;
+        }
+        try {
+            LocalDate today = LocalDate.now();
+
+            // Ledger ids are ISO dates in the server's zone, so group bookings by the same day string
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("dateTime").gte(today.atStartOfDay())
+                            .and("bookingStatus").ne(BookingStatus.CANCELLED.getValue())),
+                    Aggregation.project().and(DateOperators.zonedDateOf("dateTime",
+                                    DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                            .toString("%Y-%m-%d")).as("day"),
+                    Aggregation.group("day").count().as("count"));
+            Map<String, Integer> counts = new HashMap<>();
+            for (Document day : mongoTemplate.aggregate(aggregation, Booking.class, Document.class)) {
+                counts.put(day.getString("_id"), ((Number) day.get("count")).intValue());
+            }
+
+            Map<String, Integer> stored = new HashMap<>();
+            for (DailyCapacity entry : mongoTemplate.find(
+                    new Query(Criteria.where("_id").gte(today.toString())), DailyCapacity.class)) {
+                stored.put(entry.getId(), entry.getReserved());
+            }
+
+            // Days that lost all their bookings are set to zero rather than removed
+            Set<String> days = new TreeSet<>(counts.keySet());
+            days.addAll(stored.keySet());
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyCapacity.class);
+            int corrected = 0;
+            for (String day : days) {
+                int count = counts.getOrDefault(day, 0);
+                if (!Integer.valueOf(count).equals(stored.get(day))) {
+                    bulk.upsert(new Query(Criteria.where("_id").is(day)), new Update().set("reserved", count));
+                    corrected++;
+                }
+            }
+            if (corrected > 0) {
+                bulk.execute();
+            }
+            writes.incrementAndGet();
+            months.clear();
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(SEED_MARKER)),
+                    new Update().set("at", LocalDateTime.now()), MIGRATIONS);
+            logger.info("Rebuilt daily capacity ledger from {}: {} of {} day(s) corrected", today, corrected, days.size());
+            return true;
+        } finally {
+            leaseLockService.release(REBUILD_LOCK);
+        }
+    }
+
+    /**
+     * Returns the number of reserved slots for every day in the range that has any
+     * @param from The first day, inclusive
+     * @param to The last day, inclusive
+     * @return Reserved slots by day; days without bookings are absent
+     */
+    public Map<LocalDate, Integer> reservedBetween(LocalDate from, LocalDate to) {
+        Map<LocalDate, Integer> reserved = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            monthView(month).forEach((day, count) -> {
+                if (!day.isBefore(from) && !day.isAfter(to)) {
+                    reserved.put(day, count);
+                }
+            });
+        }
+        return reserved;
+    }
+
+    private Map<LocalDate, Integer> monthView(YearMonth month) {
+        MonthView cached = months.get(month);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < monthCacheTtlMillis) {
+            return cached.reserved();
+        }
+
+        long writesBefore = writes.get();
+        // Ledger ids are ISO dates, so a month is a contiguous _id range
+        Query query = new Query(Criteria.where("_id").gte(month.atDay(1).toString())
+                .lte(month.atEndOfMonth().toString()));
+        Map<LocalDate, Integer> reserved = new HashMap<>();
+        for (DailyCapacity entry : mongoTemplate.find(query, DailyCapacity.class)) {
+            if (entry.getReserved() > 0) {
+                reserved.put(LocalDate.parse(entry.getId()), entry.getReserved());
+            }
+        }
+        Map<LocalDate, Integer> view = Map.copyOf(reserved);
+        if (writes.get() == writesBefore) {
+            months.put(month, new MonthView(view, System.currentTimeMillis()));
+        }
+        return view;
+    }
+
+    private void invalidate(LocalDate day) {
+        writes.incrementAndGet();
+        months.remove(YearMonth.from(day));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup || !seeded()) {
+            rebuild();
+        }
+    }
+
+    private boolean seeded() {
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(SEED_MARKER)), MIGRATIONS);
+    }
+
+    private static String dayKey(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toString();
+    }
+}
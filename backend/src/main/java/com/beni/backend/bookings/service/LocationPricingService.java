@@ -1,52 +1,190 @@
 package com.beni.backend.bookings.service;
 
+import com.beni.backend.bookings.exception.ConfigVersionConflictException;
+import com.beni.backend.bookings.model.PriceQuote;
+import com.beni.backend.bookings.model.PricingConfig;
+import com.beni.backend.bookings.model.PricingTable;
+import com.beni.backend.bookings.repository.PricingConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Prices bookings from the rules stored in pricing_config. The rules are compiled into an
+ * immutable PricingTable held in memory and swapped whenever the stored version changes,
+ * so pricing changes take effect on every node without a restart.
+ */
 @Service
 public class LocationPricingService {
-    private static final Map<String, Double> LOCATION_MULTIPLIERS = new HashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(LocationPricingService.class);
+    private static final String DEFAULT_CONFIG_ID = "default";
+
+    // Multipliers used before pricing rules were stored; seeded into an empty collection
+    private static final Map<String, Double> DEFAULT_LOCATION_MULTIPLIERS = new LinkedHashMap<>();
 
     static {
-        // Initialize location multipliers
-        LOCATION_MULTIPLIERS.put("Colombo", 1.0);
-        LOCATION_MULTIPLIERS.put("Gampaha", 1.1);
-        LOCATION_MULTIPLIERS.put("Kalutara", 1.2);
-        LOCATION_MULTIPLIERS.put("Kandy", 1.3);
-        LOCATION_MULTIPLIERS.put("Galle", 1.4);
-        LOCATION_MULTIPLIERS.put("Matara", 1.5);
-        LOCATION_MULTIPLIERS.put("Negombo", 1.1);
-        LOCATION_MULTIPLIERS.put("Anuradhapura", 1.6);
-        LOCATION_MULTIPLIERS.put("Jaffna", 1.8);
-        LOCATION_MULTIPLIERS.put("Trincomalee", 1.7);
-        LOCATION_MULTIPLIERS.put("Batticaloa", 1.7);
-        LOCATION_MULTIPLIERS.put("Ratnapura", 1.4);
-        LOCATION_MULTIPLIERS.put("Badulla", 1.5);
-        LOCATION_MULTIPLIERS.put("Kurunegala", 1.3);
-        LOCATION_MULTIPLIERS.put("Puttalam", 1.4);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Colombo", 1.0);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Gampaha", 1.1);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Kalutara", 1.2);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Kandy", 1.3);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Galle", 1.4);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Matara", 1.5);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Negombo", 1.1);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Anuradhapura", 1.6);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Jaffna", 1.8);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Trincomalee", 1.7);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Batticaloa", 1.7);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Ratnapura", 1.4);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Badulla", 1.5);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Kurunegala", 1.3);
+        DEFAULT_LOCATION_MULTIPLIERS.put("Puttalam", 1.4);
+    }
+
+    private final PricingConfigRepository pricingConfigRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private volatile PricingTable table;
+
+    @Autowired
+    public LocationPricingService(PricingConfigRepository pricingConfigRepository, MongoTemplate mongoTemplate) {
+        this.pricingConfigRepository = pricingConfigRepository;
+        this.mongoTemplate = mongoTemplate;
+        initializeDefaultConfig();
+        this.table = PricingTable.compile(loadConfig());
     }
 
+    /**
+     * Location-only price, as charged when a booking is created without a package rule or date
+     */
     public double calculateTotalPrice(double basePrice, String location) {
-        if (location == null || location.trim().isEmpty()) {
-            return basePrice;
+        return table.quote(basePrice, location, null, null).getTotal();
+    }
+
+    /**
+     * Prices basePrice with every rule that applies to the location, package and date
+     * @param packageName Optional; selects a package rule
+     * @param date Optional; selects weekday and seasonal surcharges
+     */
+    public PriceQuote quote(double basePrice, String location, String packageName, LocalDate date) {
+        return table.quote(basePrice, location, packageName, date);
+    }
+
+    public boolean isValidLocation(String location) {
+        return table.isKnownLocation(location);
+    }
+
+    public Map<String, Double> getAllLocationMultipliers() {
+        return new LinkedHashMap<>(table.getLocationMultipliers());
+    }
+
+    /**
+     * Returns the compiled table currently in use; callers pricing many items should read it once
+     */
+    public PricingTable getTable() {
+        return table;
+    }
+
+    public PricingConfig getConfig() {
+        return loadConfig();
+    }
+
+    /**
+     * Replaces the stored pricing rules. The rules are compiled first, so invalid rules are
+     * rejected without touching the stored ones.
+     * @param newConfig The new rules; if it carries a version, that must be the stored version
+     * @throws IllegalArgumentException if a rule is invalid
+     * @throws ConfigVersionConflictException if the rules were changed since they were read
+     */
+    public PricingConfig updateConfig(PricingConfig newConfig) {
+        Long readVersion = loadConfig().getVersion();
+        if (newConfig.getVersion() != null && !newConfig.getVersion().equals(readVersion)) {
+            throw new ConfigVersionConflictException("Pricing rules were changed by someone else (now version "
+                    + readVersion + "); reload and try again");
         }
+        long currentVersion = readVersion != null ? readVersion : 0L;
+        newConfig.setId(DEFAULT_CONFIG_ID);
+        newConfig.setVersion(currentVersion + 1);
+        PricingTable compiled = PricingTable.compile(newConfig);
 
-        Double multiplier = LOCATION_MULTIPLIERS.get(location);
-        if (multiplier == null) {
-            // If location is not in our list, use a default multiplier
-            return basePrice * 1.5;
+        // Compare-and-set on the version so two nodes can never store different rules under one version
+        Query unchanged = new Query(Criteria.where("_id").is(DEFAULT_CONFIG_ID).and("version").is(readVersion));
+        if (mongoTemplate.findAndReplace(unchanged, newConfig) == null) {
+            throw new ConfigVersionConflictException("Pricing rules were changed by someone else; reload and try again");
         }
+        swap(compiled);
+        return newConfig;
+    }
 
-        return Math.round(basePrice * multiplier);
+    /**
+     * Reloads the rules from the database and swaps in the newly compiled table
+     */
+    public void refresh() {
+        PricingTable compiled;
+        try {
+            compiled = PricingTable.compile(loadConfig());
+        } catch (IllegalArgumentException e) {
+            // Rules edited directly in the database; keep pricing with the last valid table
+            logger.error("Stored pricing rules are invalid, keeping version {}: {}", table.getVersion(), e.getMessage());
+            return;
+        }
+        swap(compiled);
     }
 
-    public boolean isValidLocation(String location) {
-        return location != null && !location.trim().isEmpty() && LOCATION_MULTIPLIERS.containsKey(location);
+    /**
+     * Reloads the rules only if the stored version differs from the compiled one
+     */
+    @Scheduled(fixedDelayString = "${bookings.pricing.poll-interval-ms:30000}")
+    public void refreshIfStale() {
+        try {
+            Query query = new Query(Criteria.where("_id").is(DEFAULT_CONFIG_ID));
+            query.fields().include("version");
+            PricingConfig stored = mongoTemplate.findOne(query, PricingConfig.class);
+            long storedVersion = stored != null && stored.getVersion() != null ? stored.getVersion() : 0L;
+            if (storedVersion != table.getVersion()) {
+                refresh();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check pricing rules version: {}", e.getMessage());
+        }
     }
 
-    public Map<String, Double> getAllLocationMultipliers() {
-        return new HashMap<>(LOCATION_MULTIPLIERS);
+    private synchronized void swap(PricingTable next) {
+        // Never replace a newer table with an older one when refreshes race
+        if (table == null || next.getVersion() >= table.getVersion()) {
+            if (table != null && next.getVersion() != table.getVersion()) {
+                logger.info("Pricing rules updated to version {}", next.getVersion());
+            }
+            table = next;
+        }
+    }
+
+    private PricingConfig loadConfig() {
+        return pricingConfigRepository.findById(DEFAULT_CONFIG_ID)
+                .orElseThrow(() -> new RuntimeException("Pricing configuration not found"));
+    }
+
+    private void initializeDefaultConfig() {
+        if (!pricingConfigRepository.existsById(DEFAULT_CONFIG_ID)) {
+            PricingConfig defaultConfig = new PricingConfig();
+            defaultConfig.setId(DEFAULT_CONFIG_ID);
+            defaultConfig.setVersion(0L);
+            defaultConfig.setDefaultMultiplier(1.5);
+            DEFAULT_LOCATION_MULTIPLIERS.forEach((name, multiplier) -> {
+                PricingConfig.Location location = new PricingConfig.Location();
+                location.setName(name);
+                location.setMultiplier(multiplier);
+                defaultConfig.getLocations().add(location);
+            });
+            pricingConfigRepository.save(defaultConfig);
+        }
     }
-} 
\ No newline at end of file
+}
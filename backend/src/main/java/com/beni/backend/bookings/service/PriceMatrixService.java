@@ -0,0 +1,106 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.PriceQuote;
+import com.beni.backend.bookings.model.PricingTable;
+import com.beni.backend.bookings.model.QuoteMatrix;
+import com.beni.backend.bookings.model.QuoteMatrixRequest;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.packages.service.PackageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Prices packages from the cached catalog against several locations at once, so a
+ * comparison page needs a single request instead of one per package and location.
+ */
+@Service
+public class PriceMatrixService {
+    static final int MAX_PACKAGES = 50;
+    static final int MAX_LOCATIONS = 50;
+
+    private final LocationPricingService locationPricingService;
+    private final PackageService packageService;
+
+    @Autowired
+    public PriceMatrixService(LocationPricingService locationPricingService, PackageService packageService) {
+        this.locationPricingService = locationPricingService;
+        this.packageService = packageService;
+    }
+
+    /**
+     * Quotes each package's investment at each location. Duplicate ids, and locations or aliases
+     * naming the same place, are priced once; ids not in the catalog are listed in unknownPackageIds.
+     * @throws IllegalArgumentException if no package ids are given or a limit is exceeded
+     */
+    public QuoteMatrix quote(QuoteMatrixRequest request) {
+        LinkedHashSet<String> packageIds = new LinkedHashSet<>();
+        if (request.getPackageIds() != null) {
+            for (String id : request.getPackageIds()) {
+                if (id != null && !id.isBlank()) {
+                    packageIds.add(id.trim());
+                }
+            }
+        }
+        if (packageIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one package id is required");
+        }
+        if (packageIds.size() > MAX_PACKAGES) {
+            throw new IllegalArgumentException("At most " + MAX_PACKAGES + " packages can be quoted at once");
+        }
+
+        // Every row is priced with the same rules even if they are reloaded meanwhile
+        PricingTable table = locationPricingService.getTable();
+        List<String> locations = locations(request.getLocations(), table);
+
+        List<QuoteMatrix.PackageQuotes> rows = new ArrayList<>(packageIds.size());
+        List<String> unknownPackageIds = new ArrayList<>();
+        for (String id : packageIds) {
+            Optional<Package> pkg = packageService.getPackageById(id);
+            if (pkg.isEmpty()) {
+                unknownPackageIds.add(id);
+                continue;
+            }
+            List<PriceQuote> quotes = new ArrayList<>(locations.size());
+            for (String location : locations) {
+                quotes.add(table.quote(pkg.get().getInvestment(), location, pkg.get().getName(), request.getDate()));
+            }
+            rows.add(new QuoteMatrix.PackageQuotes(id, pkg.get().getName(), pkg.get().getInvestment(), quotes));
+        }
+
+        List<String> columns = new ArrayList<>(locations.size());
+        if (!rows.isEmpty()) {
+            rows.get(0).getQuotes().forEach(quote -> columns.add(quote.getLocation()));
+        } else {
+            columns.addAll(locations);
+        }
+        return new QuoteMatrix(table.getVersion(), columns, rows, unknownPackageIds);
+    }
+
+    // Requested locations without blanks or names for the same place, or every configured location
+    private List<String> locations(List<String> requested, PricingTable table) {
+        Map<String, String> byKey = new LinkedHashMap<>();
+        if (requested != null) {
+            for (String location : requested) {
+                if (location != null && !location.isBlank()) {
+                    // An alias and its location are priced once
+                    byKey.putIfAbsent(PricingTable.normalize(table.canonicalName(location)), location.trim());
+                }
+            }
+        }
+        List<String> locations = byKey.isEmpty()
+                ? new ArrayList<>(table.getLocationMultipliers().keySet())
+                : new ArrayList<>(byKey.values());
+        if (locations.size() > MAX_LOCATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_LOCATIONS + " locations can be quoted at once"
+                    + (byKey.isEmpty() ? "; list the locations to compare" : ""));
+        }
+        return locations;
+    }
+}
@@ -0,0 +1,434 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.model.AutoAssignmentPlan;
+import com.beni.backend.bookings.model.AutoAssignmentResult;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.StaffAssignment;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.packages.service.PackageService;
+import com.beni.backend.staff.model.Staff;
+import com.beni.backend.staff.repository.StaffRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Assigns staff to all unassigned upcoming bookings at once.
+ *
+ * The cost of giving a booking to a staff member is their hourly rate times
+ * the package duration, plus a penalty when their specialization does not
+ * match the package. A greedy pass assigns the most constrained bookings
+ * first to their cheapest free candidate; a local search then places
+ * leftover bookings by moving a blocking booking to another staff member,
+ * and lowers the cost with single moves and pairwise swaps. Existing
+ * assignments are respected through {@link StaffScheduleService}.
+ */
+@Service
+public class StaffAutoAssignmentService {
+    private static final Logger logger = LoggerFactory.getLogger(StaffAutoAssignmentService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final StaffRepository staffRepository;
+    private final StaffScheduleService staffScheduleService;
+    private final PackageService packageService;
+
+    @Value("${bookings.auto-assign.mismatch-penalty:5000}")
+    private double mismatchPenalty;
+
+    @Value("${bookings.auto-assign.max-rounds:50}")
+    private int maxRounds;
+
+    public StaffAutoAssignmentService(
+            MongoTemplate mongoTemplate,
+            StaffRepository staffRepository,
+            StaffScheduleService staffScheduleService,
+            PackageService packageService) {
+        this.mongoTemplate = mongoTemplate;
+        this.staffRepository = staffRepository;
+        this.staffScheduleService = staffScheduleService;
+        this.packageService = packageService;
+    }
+
+    /**
+     * Computes assignments for the unassigned upcoming bookings without saving them
+     * @return The proposed assignments and the bookings that could not be placed
+     */
+    public AutoAssignmentPlan preview() {
+        long started = System.nanoTime();
+        Query query = new Query(Criteria.where("assignedStaffId").is(null)
+                .and("bookingStatus").is(BookingStatus.UPCOMING.getValue())
+                .and("dateTime").gte(LocalDateTime.now()))
+                .with(Sort.by(Sort.Direction.ASC, "dateTime"));
+        query.fields().include("dateTime", "packageName", "bookingStatus");
+        List<Booking> bookings = mongoTemplate.find(query, Booking.class);
+        List<Staff> staff = staffRepository.findByAvailabilityTrue();
+
+        Solver solver = new Solver(bookings, staff);
+        solver.assignGreedily();
+        solver.improve();
+
+        long solveMillis = (System.nanoTime() - started) / 1_000_000;
+        AutoAssignmentPlan plan = solver.toPlan(solveMillis);
+        logger.info("Auto-assignment planned {} of {} bookings across {} staff in {} ms",
+                plan.getAssignments().size(), bookings.size(), staff.size(), solveMillis);
+        return plan;
+    }
+
+    /**
+     * Saves previewed assignments with one bulk write. Each booking is only updated if it is still
+     * upcoming and unassigned, and its staff member is still free at that time.
+     * @param assignments The assignments to apply (bookingId and staffId)
+     * @return The assignments that were saved and the bookings that were skipped
+     */
+    public AutoAssignmentResult apply(List<StaffAssignment> assignments) {
+        Map<String, String> planned = new HashMap<>();
+        for (StaffAssignment assignment : assignments) {
+            if (assignment.getBookingId() == null || assignment.getStaffId() == null) {
+                throw new IllegalArgumentException("Each assignment needs a bookingId and a staffId");
+            }
+            planned.put(assignment.getBookingId(), assignment.getStaffId());
+        }
+
+        Map<String, Staff> staffById = new HashMap<>();
+        staffRepository.findAllById(new ArrayList<>(planned.values())).forEach(s -> staffById.put(s.getId(), s));
+
+        List<Booking> reserved = new ArrayList<>();
+        Map<String, StaffScheduleService.Placement> previousPlacements = new HashMap<>();
+        for (Booking booking : mongoTemplate.find(new Query(Criteria.where("_id").in(planned.keySet())), Booking.class)) {
+            String staffId = planned.get(booking.getId());
+            if (booking.getAssignedStaffId() != null || booking.getBookingStatus() != BookingStatus.UPCOMING
+                    || !staffById.containsKey(staffId)) {
+                continue;
+            }
+            booking.setAssignedStaffId(staffId);
+            try {
+                previousPlacements.put(booking.getId(), staffScheduleService.reserve(booking));
+                reserved.add(booking);
+            } catch (BookingException e) {
+                // The staff member was booked at that time after the preview
+            }
+        }
+
+        List<StaffAssignment> applied = new ArrayList<>();
+        if (!reserved.isEmpty()) {
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+            for (Booking booking : reserved) {
+                Query query = new Query(Criteria.where("_id").is(booking.getId())
+                        .and("assignedStaffId").is(null)
+                        .and("bookingStatus").is(BookingStatus.UPCOMING.getValue()));
+                bulkOps.updateOne(query, new Update().set("assignedStaffId", booking.getAssignedStaffId()));
+            }
+            BulkWriteResult result = bulkOps.execute();
+
+            Map<String, String> persisted = new HashMap<>();
+            if (result.getModifiedCount() < reserved.size()) {
+                // Some bookings changed between the read and the write; find out which ones were saved
+                Query query = new Query(Criteria.where("_id").in(reserved.stream().map(Booking::getId).toList()));
+                query.fields().include("assignedStaffId");
+                for (Booking booking : mongoTemplate.find(query, Booking.class)) {
+                    persisted.put(booking.getId(), booking.getAssignedStaffId());
+                }
+            }
+            for (Booking booking : reserved) {
+                String staffId = booking.getAssignedStaffId();
+                if (result.getModifiedCount() < reserved.size() && !staffId.equals(persisted.get(booking.getId()))) {
+                    staffScheduleService.restore(booking.getId(), previousPlacements.get(booking.getId()));
+                    continue;
+                }
+                applied.add(new StaffAssignment(booking.getId(), staffId, staffById.get(staffId).getName(),
+                        booking.getDateTime(), 0));
+            }
+        }
+
+        List<String> skipped = new ArrayList<>();
+        Set<String> appliedIds = new HashSet<>();
+        applied.forEach(a -> appliedIds.add(a.getBookingId()));
+        for (String bookingId : planned.keySet()) {
+            if (!appliedIds.contains(bookingId)) {
+                skipped.add(bookingId);
+            }
+        }
+        logger.info("Applied {} staff assignments, skipped {}", applied.size(), skipped.size());
+        return new AutoAssignmentResult(applied, skipped);
+    }
+
+    // "Weddings" matches packages named or typed "Wedding ..."
+    private static boolean matchesSpecialization(String specialization, String packageName, String packageType) {
+        if (specialization == null || specialization.isBlank()) {
+            return false;
+        }
+        String key = specialization.trim().toLowerCase(Locale.ROOT);
+        if (key.endsWith("s")) {
+            key = key.substring(0, key.length() - 1);
+        }
+        return (packageName != null && packageName.toLowerCase(Locale.ROOT).contains(key))
+                || (packageType != null && packageType.toLowerCase(Locale.ROOT).contains(key));
+    }
+
+    /**
+     * Working state of one optimization run. Bookings and staff are addressed by index;
+     * each staff member's tentative calendar maps start time to booking index.
+     */
+    private class Solver {
+        private final List<Booking> bookings;
+        private final List<Staff> staff;
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+        private final int[][] candidates;    // Staff indices that may take each booking, cheapest first
+        private final double[][] costs;      // Cost per candidate, aligned with candidates
+        private final int[] assigned;        // Staff index per booking, or -1
+        private final List<TreeMap<LocalDateTime, Integer>> calendars;
+
+        Solver(List<Booking> bookings, List<Staff> staff) {
+            this.bookings = bookings;
+            this.staff = staff;
+            int n = bookings.size();
+            starts = new LocalDateTime[n];
+            ends = new LocalDateTime[n];
+            candidates = new int[n][];
+            costs = new double[n][];
+            assigned = new int[n];
+            Arrays.fill(assigned, -1);
+            calendars = new ArrayList<>(staff.size());
+            for (int s = 0; s < staff.size(); s++) {
+                calendars.add(new TreeMap<>());
+            }
+
+            // Existing assignments of every candidate, loaded once rather than per booking
+            Map<String, List<StaffScheduleService.Placement>> booked =
+                    staffScheduleService.calendarsOf(staff.stream().map(Staff::getId).toList());
+
+            Map<String, String> packageTypes = new HashMap<>();
+            for (Package pkg : packageService.getAllPackages()) {
+                if (pkg.getName() != null) {
+                    packageTypes.put(pkg.getName().toLowerCase(Locale.ROOT), pkg.getPackageType());
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                Booking booking = bookings.get(i);
+                int hours = staffScheduleService.durationHours(booking.getPackageName());
+                starts[i] = booking.getDateTime();
+                ends[i] = starts[i].plusHours(hours);
+                String packageType = booking.getPackageName() == null
+                        ? null : packageTypes.get(booking.getPackageName().toLowerCase(Locale.ROOT));
+
+                List<double[]> feasible = new ArrayList<>();
+                for (int s = 0; s < staff.size(); s++) {
+                    Staff member = staff.get(s);
+                    if (!StaffScheduleService.coversDay(member, starts[i].toLocalDate())
+                            || StaffScheduleService.findConflict(booked.get(member.getId()), starts[i], ends[i]) != null) {
+                        continue;
+                    }
+                    double cost = (double) member.getHourlyRate() * hours;
+                    if (!matchesSpecialization(member.getSpecialization(), booking.getPackageName(), packageType)) {
+                        cost += mismatchPenalty;
+                    }
+                    feasible.add(new double[]{s, cost});
+                }
+                feasible.sort(Comparator.comparingDouble(c -> c[1]));
+                candidates[i] = new int[feasible.size()];
+                costs[i] = new double[feasible.size()];
+                for (int k = 0; k < feasible.size(); k++) {
+                    candidates[i][k] = (int) feasible.get(k)[0];
+                    costs[i][k] = feasible.get(k)[1];
+                }
+            }
+        }
+
+        void assignGreedily() {
+            Integer[] order = new Integer[bookings.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            // Bookings with the fewest options go first so they are not crowded out
+            Arrays.sort(order, Comparator.<Integer>comparingInt(i -> candidates[i].length).thenComparing(i -> starts[i]));
+            for (int i : order) {
+                for (int s : candidates[i]) {
+                    if (conflict(s, i) < 0) {
+                        place(i, s);
+                        break;
+                    }
+                }
+            }
+        }
+
+        void improve() {
+            for (int round = 0; round < maxRounds; round++) {
+                boolean improved = placeLeftovers();
+                improved |= relocate();
+                improved |= swap();
+                if (!improved) {
+                    return;
+                }
+            }
+        }
+
+        // An unassigned booking takes a staff member whose only conflicting booking can move elsewhere
+        private boolean placeLeftovers() {
+            boolean improved = false;
+            for (int i = 0; i < bookings.size(); i++) {
+                if (assigned[i] >= 0) {
+                    continue;
+                }
+                for (int s : candidates[i]) {
+                    int blocker = conflict(s, i);
+                    if (blocker < 0) {
+                        place(i, s);
+                        improved = true;
+                        break;
+                    }
+                    unplace(blocker);
+                    if (conflict(s, i) < 0) {
+                        int target = cheapestFree(blocker, s);
+                        if (target >= 0) {
+                            place(blocker, target);
+                            place(i, s);
+                            improved = true;
+                            break;
+                        }
+                    }
+                    place(blocker, s);
+                }
+            }
+            return improved;
+        }
+
+        // Moves a booking to a cheaper staff member who is free
+        private boolean relocate() {
+            boolean improved = false;
+            for (int i = 0; i < bookings.size(); i++) {
+                int current = assigned[i];
+                if (current < 0) {
+                    continue;
+                }
+                double currentCost = cost(i, current);
+                unplace(i);
+                int best = current;
+                for (int k = 0; k < candidates[i].length && costs[i][k] < currentCost; k++) {
+                    if (conflict(candidates[i][k], i) < 0) {
+                        best = candidates[i][k];
+                        break;
+                    }
+                }
+                place(i, best);
+                improved |= best != current;
+            }
+            return improved;
+        }
+
+        // Exchanges the staff of two bookings when that is cheaper and both stay conflict-free
+        private boolean swap() {
+            boolean improved = false;
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    int a = assigned[i];
+                    int b = assigned[j];
+                    if (a < 0 || b < 0 || a == b) {
+                        continue;
+                    }
+                    double swapped = cost(i, b) + cost(j, a);
+                    if (Double.isNaN(swapped) || swapped >= cost(i, a) + cost(j, b)) {
+                        continue;
+                    }
+                    unplace(i);
+                    unplace(j);
+                    if (conflict(b, i) < 0) {
+                        place(i, b);
+                        if (conflict(a, j) < 0) {
+                            place(j, a);
+                            improved = true;
+                            continue;
+                        }
+                        unplace(i);
+                    }
+                    place(i, a);
+                    place(j, b);
+                }
+            }
+            return improved;
+        }
+
+        private int cheapestFree(int i, int excluded) {
+            for (int s : candidates[i]) {
+                if (s != excluded && conflict(s, i) < 0) {
+                    return s;
+                }
+            }
+            return -1;
+        }
+
+        // NaN when the staff member is not a candidate for the booking
+        private double cost(int i, int s) {
+            for (int k = 0; k < candidates[i].length; k++) {
+                if (candidates[i][k] == s) {
+                    return costs[i][k];
+                }
+            }
+            return Double.NaN;
+        }
+
+        // Index of the tentative booking on staff s that overlaps booking i, or -1
+        private int conflict(int s, int i) {
+            Map.Entry<LocalDateTime, Integer> latest = calendars.get(s).lowerEntry(ends[i]);
+            if (latest != null && latest.getValue() != i && ends[latest.getValue()].isAfter(starts[i])) {
+                return latest.getValue();
+            }
+            return -1;
+        }
+
+        private void place(int i, int s) {
+            assigned[i] = s;
+            calendars.get(s).put(starts[i], i);
+        }
+
+        private void unplace(int i) {
+            int s = assigned[i];
+            if (s >= 0) {
+                calendars.get(s).remove(starts[i], i);
+                assigned[i] = -1;
+            }
+        }
+
+        AutoAssignmentPlan toPlan(long solveMillis) {
+            List<StaffAssignment> assignments = new ArrayList<>();
+            List<String> unassigned = new ArrayList<>();
+            double total = 0;
+            for (int i = 0; i < bookings.size(); i++) {
+                Booking booking = bookings.get(i);
+                if (assigned[i] < 0) {
+                    unassigned.add(booking.getId());
+                    continue;
+                }
+                Staff member = staff.get(assigned[i]);
+                double cost = cost(i, assigned[i]);
+                total += cost;
+                assignments.add(new StaffAssignment(booking.getId(), member.getId(), member.getName(),
+                        booking.getDateTime(), cost));
+            }
+            return new AutoAssignmentPlan(assignments, unassigned, total, solveMillis);
+        }
+    }
+}
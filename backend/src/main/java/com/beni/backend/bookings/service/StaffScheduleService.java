@@ -0,0 +1,372 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.exception.BookingException;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.StaffCalendar;
+import com.beni.backend.common.LeaseLockService;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.packages.service.PackageService;
+import com.beni.backend.staff.model.Staff;
+import com.beni.backend.staff.repository.StaffRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the calendar of upcoming assigned bookings for every staff member in Mongo.
+ *
+ * Each staff member has one {@link StaffCalendar} document whose slots are the
+ * bookings occupying [start, end), where end is the start plus the package
+ * duration. A slot is only pushed by an update whose filter requires that no
+ * other slot in the document overlaps it, so two instances can never both
+ * place overlapping bookings on the same staff member. A periodic repair
+ * adds slots that are missing for assigned bookings and drops slots that no
+ * longer match one.
+ */
+@Service
+public class StaffScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(StaffScheduleService.class);
+    private static final String REPAIR_LOCK = "staff-calendar-repair";
+
+    // Slots younger than this may belong to a booking whose save has not landed yet
+    private static final Duration REPAIR_GRACE = Duration.ofMinutes(10);
+
+    /** The time a booking occupies on its staff member's calendar. */
+    public record Placement(String bookingId, String staffId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final StaffRepository staffRepository;
+    private final PackageService packageService;
+    private final LeaseLockService leaseLockService;
+
+    @Value("${bookings.schedule.default-duration-hours:4}")
+    private int defaultDurationHours;
+
+    public StaffScheduleService(MongoTemplate mongoTemplate, StaffRepository staffRepository,
+                                PackageService packageService, LeaseLockService leaseLockService) {
+        this.mongoTemplate = mongoTemplate;
+        this.staffRepository = staffRepository;
+        this.packageService = packageService;
+        this.leaseLockService = leaseLockService;
+    }
+
+    /**
+     * Places the booking on its assigned staff member's calendar, replacing any earlier placement.
+     * Bookings without staff, or that are cancelled or completed, are removed from the calendars.
+     * @param booking The booking in its new state
+     * @return The previous placement, for {@link #restore} if the booking cannot be saved
+     * @throws BookingException if the staff member already has an overlapping booking
+     */
+    public Placement reserve(Booking booking) {
+        Placement previous = find(booking.getId());
+        Placement placement = placementOf(booking);
+        if (placement == null) {
+            release(booking.getId());
+            return previous;
+        }
+        if (placement.equals(previous)) {
+            // Same staff member and time, so there is nothing new to check
+            return previous;
+        }
+        push(placement);
+        if (previous != null) {
+            pull(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Puts a booking back to the placement returned by {@link #reserve}
+     */
+    public void restore(String bookingId, Placement previous) {
+        release(bookingId);
+        if (previous != null) {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(previous.staffId())),
+                    new Update().push("slots", slotOf(previous)), StaffCalendar.class);
+        }
+    }
+
+    public void release(String bookingId) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("slots.bookingId").is(bookingId)),
+                new Update().pull("slots", new Document("bookingId", bookingId)), StaffCalendar.class);
+    }
+
+    public boolean isFree(String staffId, LocalDateTime start, LocalDateTime end) {
+        return !mongoTemplate.exists(new Query(Criteria.where("_id").is(staffId)
+                .and("slots").elemMatch(overlapping(start, end))), StaffCalendar.class);
+    }
+
+    /**
+     * Loads the calendars of several staff members with one query
+     * @param staffIds The staff to load
+     * @return The placements of each staff member that has any, sorted by start
+     */
+    public Map<String, List<Placement>> calendarsOf(Collection<String> staffIds) {
+        Map<String, List<Placement>> calendars = new HashMap<>();
+        for (StaffCalendar calendar : mongoTemplate.find(
+                new Query(Criteria.where("_id").in(staffIds)), StaffCalendar.class)) {
+            List<Placement> placements = new ArrayList<>(calendar.getSlots().size());
+            for (StaffCalendar.Slot slot : calendar.getSlots()) {
+                placements.add(new Placement(slot.getBookingId(), calendar.getId(), slot.getStart(), slot.getEnd()));
+            }
+            placements.sort(Comparator.comparing(Placement::start));
+            calendars.put(calendar.getId(), placements);
+        }
+        return calendars;
+    }
+
+    /**
+     * Finds a placement overlapping [start, end) in a calendar from {@link #calendarsOf}.
+     * Every placement starting before the end is checked, since older data may hold overlaps.
+     * @return The first overlapping placement, or null if the time is free
+     */
+    public static Placement findConflict(List<Placement> calendar, LocalDateTime start, LocalDateTime end) {
+        if (calendar == null) {
+            return null;
+        }
+        for (Placement placement : calendar) {
+            if (!placement.start().isBefore(end)) {
+                break;
+            }
+            if (placement.end().isAfter(start)) {
+                return placement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the staff members who are available for a booking of the given package at the given time
+     * @param dateTime The start of the booking
+     * @param packageName The package, used to look up the duration
+     * @return The staff who are marked available, whose availability range covers the day and who have no overlapping booking
+     */
+    public List<Staff> findFreeStaff(LocalDateTime dateTime, String packageName) {
+        LocalDateTime end = dateTime.plusHours(durationHours(packageName));
+        LocalDate day = dateTime.toLocalDate();
+        List<Staff> available = new ArrayList<>();
+        for (Staff staff : staffRepository.findByAvailabilityTrue()) {
+            if (coversDay(staff, day)) {
+                available.add(staff);
+            }
+        }
+        Map<String, List<Placement>> calendars = calendarsOf(available.stream().map(Staff::getId).toList());
+        List<Staff> free = new ArrayList<>();
+        for (Staff staff : available) {
+            if (findConflict(calendars.get(staff.getId()), dateTime, end) == null) {
+                free.add(staff);
+            }
+        }
+        return free;
+    }
+
+    public int durationHours(String packageName) {
+        if (packageName != null) {
+            for (Package pkg : packageService.getAllPackages()) {
+                if (packageName.equalsIgnoreCase(pkg.getName()) && pkg.getDurationHours() > 0) {
+                    return pkg.getDurationHours();
+                }
+            }
+        }
+        return defaultDurationHours;
+    }
+
+    /**
+     * Brings the calendars in line with the upcoming assigned bookings. Missing slots are added
+     * as they are, even where older bookings overlap, and slots that no longer match a booking
+     * are removed once they are old enough not to belong to a save still in progress.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${bookings.schedule.refresh-interval-ms:300000}",
+            initialDelayString = "${bookings.schedule.refresh-interval-ms:300000}")
+    public void rebuild() {
+        if (!leaseLockService.tryAcquire(REPAIR_LOCK, Duration.ofMinutes(10))) {
+            logger.debug("Staff calendar repair skipped; another instance holds the lease");
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+            Date graceCutoff = new Date(System.currentTimeMillis() - REPAIR_GRACE.toMillis());
+
+            // Calendars are read before bookings so a booking saved in between is seen in its newer state
+            List<StaffCalendar> stored = mongoTemplate.findAll(StaffCalendar.class);
+
+            // Bookings that started recently may still be running
+            Query query = new Query(Criteria.where("assignedStaffId").ne(null)
+                    .and("bookingStatus").is(BookingStatus.UPCOMING.getValue())
+                    .and("dateTime").gte(cutoff));
+            query.fields().include("dateTime", "assignedStaffId", "packageName", "bookingStatus");
+            Map<String, Placement> expected = new HashMap<>();
+            for (Booking booking : mongoTemplate.find(query, Booking.class)) {
+                Placement placement = placementOf(booking);
+                if (placement != null) {
+                    expected.put(placement.bookingId(), placement);
+                }
+            }
+
+            BulkOperations removals = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StaffCalendar.class);
+            Set<String> present = new HashSet<>();
+            int removed = 0;
+            for (StaffCalendar calendar : stored) {
+                for (StaffCalendar.Slot slot : calendar.getSlots()) {
+                    Placement placement = new Placement(slot.getBookingId(), calendar.getId(), slot.getStart(), slot.getEnd());
+                    if (placement.equals(expected.get(slot.getBookingId()))) {
+                        present.add(slot.getBookingId());
+                        continue;
+                    }
+                    boolean past = slot.getEnd() == null || slot.getEnd().isBefore(cutoff);
+                    boolean settled = slot.getReservedAt() == null || slot.getReservedAt().before(graceCutoff);
+                    if (past || settled) {
+                        removals.updateOne(new Query(Criteria.where("_id").is(calendar.getId())),
+                                new Update().pull("slots", slotFilter(placement)));
+                        removed++;
+                    }
+                }
+            }
+            if (removed > 0) {
+                removals.execute();
+            }
+
+            // Stale slots go first so a booking that moved can be placed again on the same staff member
+            BulkOperations additions = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StaffCalendar.class);
+            int added = 0;
+            for (Placement placement : expected.values()) {
+                if (!present.contains(placement.bookingId())) {
+                    // Matches nothing if a concurrent reserve has already placed the booking here,
+                    // in which case the upsert collides on _id and is skipped
+                    additions.upsert(new Query(Criteria.where("_id").is(placement.staffId())
+                                    .and("slots.bookingId").ne(placement.bookingId())),
+                            new Update().push("slots", slotOf(placement)));
+                    added++;
+                }
+            }
+            if (added > 0) {
+                try {
+                    additions.execute();
+                } catch (BulkOperationException e) {
+                    added -= e.getErrors().size();
+                    logger.debug("Skipped {} staff calendar slot(s) placed by concurrent reservations", e.getErrors().size());
+                }
+            }
+            logger.info("Repaired staff calendars for {} upcoming assignments: {} slot(s) added, {} removed",
+                    expected.size(), added, removed);
+        } finally {
+            leaseLockService.release(REPAIR_LOCK);
+        }
+    }
+
+    private Placement placementOf(Booking booking) {
+        if (booking.getAssignedStaffId() == null || booking.getDateTime() == null
+                || booking.getBookingStatus() != BookingStatus.UPCOMING) {
+            return null;
+        }
+        LocalDateTime start = booking.getDateTime();
+        return new Placement(booking.getId(), booking.getAssignedStaffId(), start,
+                start.plusHours(durationHours(booking.getPackageName())));
+    }
+
+    private Placement find(String bookingId) {
+        Query query = new Query(Criteria.where("slots.bookingId").is(bookingId));
+        query.fields().elemMatch("slots", Criteria.where("bookingId").is(bookingId));
+        StaffCalendar calendar = mongoTemplate.findOne(query, StaffCalendar.class);
+        if (calendar == null || calendar.getSlots().isEmpty()) {
+            return null;
+        }
+        StaffCalendar.Slot slot = calendar.getSlots().get(0);
+        return new Placement(bookingId, calendar.getId(), slot.getStart(), slot.getEnd());
+    }
+
+    // Adds the slot only if no other booking on the calendar overlaps it
+    private void push(Placement placement) {
+        Query query = new Query(Criteria.where("_id").is(placement.staffId())
+                .and("slots").not().elemMatch(overlapping(placement.start(), placement.end())
+                        .and("bookingId").ne(placement.bookingId())));
+        Update update = new Update().push("slots", slotOf(placement));
+        try {
+            // Upsert creates the calendar the first time; when it exists but overlaps the upsert collides on _id
+            mongoTemplate.upsert(query, update, StaffCalendar.class);
+            return;
+        } catch (DuplicateKeyException e) {
+            // Either an overlap or a calendar created concurrently; only the plain update tells them apart
+        }
+        if (mongoTemplate.updateFirst(query, update, StaffCalendar.class).getMatchedCount() > 0) {
+            return;
+        }
+        Query conflictQuery = new Query(Criteria.where("_id").is(placement.staffId()));
+        conflictQuery.fields().elemMatch("slots", overlapping(placement.start(), placement.end())
+                .and("bookingId").ne(placement.bookingId()));
+        StaffCalendar calendar = mongoTemplate.findOne(conflictQuery, StaffCalendar.class);
+        if (calendar != null && !calendar.getSlots().isEmpty()) {
+            StaffCalendar.Slot conflict = calendar.getSlots().get(0);
+            throw new BookingException("Staff member is already booked from " + conflict.getStart() + " to " + conflict.getEnd());
+        }
+        throw new BookingException("Staff member is already booked at that time");
+    }
+
+    private void pull(Placement placement) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(placement.staffId())),
+                new Update().pull("slots", slotFilter(placement)), StaffCalendar.class);
+    }
+
+    private static Criteria overlapping(LocalDateTime start, LocalDateTime end) {
+        return Criteria.where("start").lt(end).and("end").gt(start);
+    }
+
+    private static StaffCalendar.Slot slotOf(Placement placement) {
+        return new StaffCalendar.Slot(placement.bookingId(), placement.start(), placement.end(), new Date());
+    }
+
+    // Matches exactly this placement, leaving a newer slot of the same booking in place
+    private static Document slotFilter(Placement placement) {
+        return new Document("bookingId", placement.bookingId())
+                .append("start", placement.start())
+                .append("end", placement.end());
+    }
+
+    // Whether the staff member's availability window includes day; shared with the auto-assignment solver
+    static boolean coversDay(Staff staff, LocalDate day) {
+        LocalDate from = parseDate(staff.getAvailabilityStartDate());
+        LocalDate to = parseDate(staff.getAvailabilityEndDate());
+        return (from == null || !day.isBefore(from)) && (to == null || !day.isAfter(to));
+    }
+
+    // Accepts both dates and date-times; anything unparseable is treated as unbounded
+    static LocalDate parseDate(String value) {
+        if (value == null || value.length() < 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
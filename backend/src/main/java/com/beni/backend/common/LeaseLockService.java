@@ -0,0 +1,58 @@
+package com.beni.backend.common;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Mongo-backed leases that let scheduled jobs run on only one instance at a time.
+ *
+ * A lease is taken with one findAndModify that matches the lock document only
+ * when it has expired or already belongs to this instance. A lease that is not
+ * renewed expires on its own, so a crashed instance never blocks the job.
+ */
+@Service
+public class LeaseLockService {
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public LeaseLockService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Takes or extends the named lease
+     * @param name The lock name
+     * @param lease How long the lease lasts unless renewed
+     * @return true if this instance now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("lockedUntil").lt(now), Criteria.where("owner").is(owner)));
+        Update update = new Update().set("owner", owner).set("lockedUntil", now.plus(lease));
+        try {
+            // Upsert creates the lock the first time; when another instance holds it the upsert collides on _id
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLock.class) != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives the lease up early so another instance can run the job
+     */
+    public void release(String name) {
+        Query query = new Query(Criteria.where("_id").is(name).and("owner").is(owner));
+        mongoTemplate.updateFirst(query, new Update().set("lockedUntil", Instant.EPOCH), SchedulerLock.class);
+    }
+}
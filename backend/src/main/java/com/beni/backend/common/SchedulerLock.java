@@ -0,0 +1,19 @@
+package com.beni.backend.common;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A named lease held by one instance at a time; expired leases may be taken over.
+ */
+@Data
+@Document(collection = "scheduler_locks")
+public class SchedulerLock {
+    @Id
+    private String id;
+    private String owner;
+    private Instant lockedUntil;
+}
@@ -0,0 +1,72 @@
+package com.beni.backend.common;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.stream.Stream;
+
+/**
+ * Creates unique compound indexes on collections that may already hold
+ * duplicates. Mongo refuses to build a unique index over duplicates, so
+ * startup only reports them; removing them is a separate, explicit action.
+ */
+public final class UniqueIndexes {
+    private static final Logger logger = LoggerFactory.getLogger(UniqueIndexes.class);
+
+    private UniqueIndexes() {
+    }
+
+    /**
+     * Creates the unique index unless duplicates prevent it
+     * @return false if the collection still holds duplicates
+     */
+    public static boolean ensure(MongoTemplate mongoTemplate, Class<?> entityClass, String name, String... fields) {
+        Index index = new Index().named(name).unique();
+        for (String field : fields) {
+            index.on(field, Sort.Direction.ASC);
+        }
+        try {
+            mongoTemplate.indexOps(entityClass).ensureIndex(index);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Unique index {} on {} not created because of duplicate documents; "
+                    + "run the deduplication admin action to remove them", name, entityClass.getSimpleName());
+            return false;
+        }
+    }
+
+    /**
+     * Removes duplicates, keeping the oldest document of each group, then creates the index
+     * @return The number of documents removed
+     */
+    public static long removeDuplicates(MongoTemplate mongoTemplate, Class<?> entityClass, String name, String... fields) {
+        // Only the oldest id and a count are kept per group, and large collections may spill to disk
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group(fields).min("_id").as("keep").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        long removed = 0;
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, entityClass, Document.class)) {
+            for (Document group : (Iterable<Document>) groups::iterator) {
+                Criteria duplicates = Criteria.where("_id").ne(group.get("keep"));
+                for (String field : fields) {
+                    Object value = fields.length == 1 ? group.get("_id") : group.get("_id", Document.class).get(field);
+                    duplicates.and(field).is(value);
+                }
+                removed += mongoTemplate.remove(new Query(duplicates), entityClass).getDeletedCount();
+            }
+        }
+        logger.warn("Removed {} duplicate {} documents for index {}", removed, entityClass.getSimpleName(), name);
+        ensure(mongoTemplate, entityClass, name, fields);
+        return removed;
+    }
+}
@@ -0,0 +1,100 @@
+package com.beni.backend.common;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Per-user sets of ids (favorited albums, wishlisted packages) kept in memory.
+ *
+ * A user's set is loaded on first use and the least recently used users are
+ * evicted beyond maxUsers. Writers update the database first and then the
+ * cached set, so a cached set always reflects this instance's writes; the TTL
+ * bounds how long writes made on other instances stay invisible.
+ */
+public class UserMembershipCache {
+
+    private record Entry(Set<String> ids, long loadedAt) {
+    }
+
+    private final int maxUsers;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    // Write counters by user, striped to bound memory; a load that overlapped a write to the
+    // same user (or, rarely, a user sharing the stripe) is returned but not cached
+    private static final int WRITE_STRIPES = 4096;
+    private final AtomicLongArray writes = new AtomicLongArray(WRITE_STRIPES);
+
+    public UserMembershipCache(int maxUsers, long ttlMillis) {
+        this.maxUsers = maxUsers;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserMembershipCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Returns the user's ids, loading them with the loader if they are not cached
+     */
+    public Set<String> get(String userId, Function<String, Collection<String>> loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() < ttlMillis) {
+            return entry.ids();
+        }
+
+        int stripe = stripe(userId);
+        long writesBefore = writes.get(stripe);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ids.addAll(loader.apply(userId));
+        if (writes.get(stripe) == writesBefore) {
+            synchronized (entries) {
+                entries.put(userId, new Entry(ids, System.currentTimeMillis()));
+            }
+        }
+        return ids;
+    }
+
+    public void add(String userId, String id) {
+        writes.incrementAndGet(stripe(userId));
+        Entry entry = peek(userId);
+        if (entry != null) {
+            entry.ids().add(id);
+        }
+    }
+
+    public void remove(String userId, String id) {
+        writes.incrementAndGet(stripe(userId));
+        Entry entry = peek(userId);
+        if (entry != null) {
+            entry.ids().remove(id);
+        }
+    }
+
+    public void invalidate(String userId) {
+        writes.incrementAndGet(stripe(userId));
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private static int stripe(String userId) {
+        return Math.floorMod(userId.hashCode(), WRITE_STRIPES);
+    }
+
+    private Entry peek(String userId) {
+        synchronized (entries) {
+            return entries.get(userId);
+        }
+    }
+}
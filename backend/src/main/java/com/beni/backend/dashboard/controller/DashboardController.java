@@ -2,9 +2,14 @@ package com.beni.backend.dashboard.controller;
 
 import com.beni.backend.dashboard.model.DashboardStats;
 import com.beni.backend.dashboard.model.RecentActivity;
+import com.beni.backend.dashboard.model.StatsDriftReport;
 import com.beni.backend.dashboard.service.DashboardService;
+import com.beni.backend.dashboard.service.DashboardStatsProjector;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,9 +22,22 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardStatsProjector dashboardStatsProjector;
+
     @GetMapping("/stats")
     public DashboardStats getDashboardStats() {
-        return dashboardService.getDashboardStats();
+        return dashboardStatsProjector.getStats();
+    }
+
+    // Recompute the stats from the source collections and report any drift
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<?> reconcileStats() {
+        StatsDriftReport report = dashboardStatsProjector.reconcile();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A reconciliation is already running");
+        }
+        return ResponseEntity.ok(report);
     }
 
     @GetMapping("/recent-activities")
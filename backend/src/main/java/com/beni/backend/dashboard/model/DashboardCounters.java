@@ -0,0 +1,35 @@
+package com.beni.backend.dashboard.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Materialized dashboard totals, kept up to date incrementally from entity change events
+ */
+@Data
+@Document(collection = "dashboard_stats")
+public class DashboardCounters {
+    @Id
+    private String id;
+    private long totalBookings;
+    private long pendingBookings;
+    private long totalAlbums;
+    private long totalStaff;
+    private long totalPackages;
+    private long totalPortfolioItems;
+    private Date reconciledAt;
+
+    public DashboardStats toStats() {
+        DashboardStats stats = new DashboardStats();
+        stats.setTotalBookings(totalBookings);
+        stats.setPendingBookings(pendingBookings);
+        stats.setTotalAlbums(totalAlbums);
+        stats.setTotalStaff(totalStaff);
+        stats.setTotalPackages(totalPackages);
+        stats.setTotalPortfolioItems(totalPortfolioItems);
+        return stats;
+    }
+}
@@ -0,0 +1,20 @@
+package com.beni.backend.dashboard.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Result of reconciling the materialized stats against the source collections.
+ * drift maps each counter to (recomputed - materialized); only non-zero entries are listed.
+ */
+@Data
+@AllArgsConstructor
+public class StatsDriftReport {
+    private DashboardStats materialized;
+    private DashboardStats recomputed;
+    private Map<String, Long> drift;
+    private LocalDateTime reconciledAt;
+}
@@ -1,51 +1,51 @@
 package com.beni.backend.dashboard.service;
 
+import com.beni.backend.albumAndPorfilio.model.Album;
+import com.beni.backend.albumAndPorfilio.model.Portfolio;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.PaymentStatus;
 import com.beni.backend.dashboard.model.DashboardStats;
 import com.beni.backend.dashboard.model.RecentActivity;
-import com.beni.backend.bookings.repository.BookingRepository;
-import com.beni.backend.albumAndPorfilio.repository.AlbumRepository;
-import com.beni.backend.staff.repository.StaffRepository;
-import com.beni.backend.packages.repository.PackageRepository;
-import com.beni.backend.albumAndPorfilio.repository.PortfolioRepository;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.staff.model.Staff;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
-    private final BookingRepository bookingRepository;
-    private final AlbumRepository albumRepository;
-    private final StaffRepository staffRepository;
-    private final PackageRepository packageRepository;
-    private final PortfolioRepository portfolioRepository;
+    private static final int RECENT_PER_TYPE = 5;
+    private static final int RECENT_TOTAL = 10;
 
-    public DashboardService(
-            BookingRepository bookingRepository,
-            AlbumRepository albumRepository,
-            StaffRepository staffRepository,
-            PackageRepository packageRepository,
-            PortfolioRepository portfolioRepository) {
-        this.bookingRepository = bookingRepository;
-        this.albumRepository = albumRepository;
-        this.staffRepository = staffRepository;
-        this.packageRepository = packageRepository;
-        this.portfolioRepository = portfolioRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public DashboardService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
     }
 
     public DashboardStats getDashboardStats() {
         DashboardStats stats = new DashboardStats();
-        stats.setTotalBookings(bookingRepository.count());
-        stats.setPendingBookings(bookingRepository.findAll().stream()
-                .filter(booking -> "pending".equals(booking.getPaymentStatus()))
-                .count());
-        stats.setTotalAlbums(albumRepository.count());
-        stats.setTotalStaff(staffRepository.count());
-        stats.setTotalPackages(packageRepository.count());
-        stats.setTotalPortfolioItems(portfolioRepository.count());
+        // Pending payments are counted from the (paymentStatus, dateTime, _id) index alone
+        stats.setPendingBookings(mongoTemplate.count(
+                new Query(Criteria.where("paymentStatus").is(PaymentStatus.PENDING.getValue())), Booking.class));
+        // Exact counts: this is the reference the materialized stats are corrected against, and
+        // collection metadata can be off after an unclean shutdown or while a migration runs
+        stats.setTotalBookings(mongoTemplate.count(new Query(), Booking.class));
+        stats.setTotalAlbums(mongoTemplate.count(new Query(), Album.class));
+        stats.setTotalStaff(mongoTemplate.count(new Query(), Staff.class));
+        stats.setTotalPackages(mongoTemplate.count(new Query(), Package.class));
+        stats.setTotalPortfolioItems(mongoTemplate.count(new Query(), Portfolio.class));
         return stats;
     }
 
@@ -53,51 +53,68 @@ public class DashboardService {
         List<RecentActivity> activities = new ArrayList<>();
 
         // Get recent bookings
-        bookingRepository.findAll().stream()
-                .sorted(Comparator.comparing(booking -> booking.getDateTime()))
-                .limit(5)
-                .forEach(booking -> {
-                    RecentActivity activity = new RecentActivity();
-                    activity.setId(booking.getId());
-                    activity.setType("BOOKING");
-                    activity.setDescription("New booking created for " + booking.getPackageName());
-                    activity.setUserName(booking.getEmail());
-                    activity.setTimestamp(booking.getDateTime());
-                    activities.add(activity);
-                });
+        for (Booking booking : latest(Booking.class, "dateTime", "packageName", "email")) {
+            if (booking.getDateTime() == null) {
+                continue;
+            }
+            RecentActivity activity = new RecentActivity();
+            activity.setId(booking.getId());
+            activity.setType("BOOKING");
+            activity.setDescription("New booking created for " + booking.getPackageName());
+            activity.setUserName(booking.getEmail());
+            activity.setTimestamp(booking.getDateTime());
+            activities.add(activity);
+        }
 
         // Get recent albums
-        albumRepository.findAll().stream()
-                .sorted(Comparator.comparing(album -> album.getReleaseDate()))
-                .limit(5)
-                .forEach(album -> {
-                    RecentActivity activity = new RecentActivity();
-                    activity.setId(album.getId());
-                    activity.setType("ALBUM");
-                    activity.setDescription("New album created: " + album.getName());
-                    activity.setUserName(album.getLocation());
-                    activity.setTimestamp(album.getReleaseDate().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime());
-                    activities.add(activity);
-                });
+        for (Album album : latest(Album.class, "releaseDate", "name", "location")) {
+            if (album.getReleaseDate() == null) {
+                continue;
+            }
+            RecentActivity activity = new RecentActivity();
+            activity.setId(album.getId());
+            activity.setType("ALBUM");
+            activity.setDescription("New album created: " + album.getName());
+            activity.setUserName(album.getLocation());
+            activity.setTimestamp(toLocalDateTime(album.getReleaseDate()));
+            activities.add(activity);
+        }
 
         // Get recent portfolio items
-        portfolioRepository.findAll().stream()
-                .sorted(Comparator.comparing(portfolio -> portfolio.getDateUploaded()))
-                .limit(5)
-                .forEach(portfolio -> {
-                    RecentActivity activity = new RecentActivity();
-                    activity.setId(portfolio.getId());
-                    activity.setType("PORTFOLIO");
-                    activity.setDescription("New portfolio item added: " + portfolio.getAlbumName());
-                    activity.setUserName(portfolio.getPhotographerName());
-                    activity.setTimestamp(portfolio.getDateUploaded().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime());
-                    activities.add(activity);
-                });
+        for (Portfolio portfolio : latest(Portfolio.class, "dateUploaded", "albumName", "photographerName")) {
+            if (portfolio.getDateUploaded() == null) {
+                continue;
+            }
+            RecentActivity activity = new RecentActivity();
+            activity.setId(portfolio.getId());
+            activity.setType("PORTFOLIO");
+            activity.setDescription("New portfolio item added: " + portfolio.getAlbumName());
+            activity.setUserName(portfolio.getPhotographerName());
+            activity.setTimestamp(toLocalDateTime(portfolio.getDateUploaded()));
+            activities.add(activity);
+        }
 
         // Sort all activities by timestamp and limit to 10 most recent
         return activities.stream()
                 .sorted(Comparator.comparing(RecentActivity::getTimestamp).reversed())
-                .limit(10)
+                .limit(RECENT_TOTAL)
                 .collect(Collectors.toList());
     }
-} 
\ No newline at end of file
+
+    // Newest documents by the given field, projected to just the fields an activity needs
+    private <T> List<T> latest(Class<T> type, String timestampField, String... fields) {
+        String[] projected = new String[fields.length + 1];
+        projected[0] = timestampField;
+        System.arraycopy(fields, 0, projected, 1, fields.length);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.DESC, timestampField),
+                Aggregation.limit(RECENT_PER_TYPE),
+                Aggregation.project(projected));
+        return mongoTemplate.aggregate(aggregation, type, type).getMappedResults();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -0,0 +1,180 @@
+package com.beni.backend.dashboard.service;
+
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.common.LeaseLockService;
+import com.beni.backend.dashboard.model.DashboardCounters;
+import com.beni.backend.dashboard.model.DashboardStats;
+import com.beni.backend.dashboard.model.StatsDriftReport;
+import com.beni.backend.events.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintains the materialized dashboard statistics. Entity change events are
+ * applied as atomic increments on the dashboard_stats document, and the latest
+ * values are kept in memory so reading the stats never touches the database.
+ */
+@Service
+public class DashboardStatsProjector {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsProjector.class);
+    private static final String STATS_ID = "global";
+    private static final String RECONCILE_LOCK = "dashboard-stats-reconcile";
+
+    private final MongoTemplate mongoTemplate;
+    private final DashboardService dashboardService;
+    private final LeaseLockService leaseLockService;
+
+    private volatile DashboardCounters current = new DashboardCounters();
+
+    public DashboardStatsProjector(MongoTemplate mongoTemplate, DashboardService dashboardService,
+                                   LeaseLockService leaseLockService) {
+        this.mongoTemplate = mongoTemplate;
+        this.dashboardService = dashboardService;
+        this.leaseLockService = leaseLockService;
+    }
+
+    public DashboardStats getStats() {
+        return current.toStats();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        DashboardCounters stored = mongoTemplate.findById(STATS_ID, DashboardCounters.class);
+        if (stored == null) {
+            reconcile();
+        } else {
+            current = stored;
+        }
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        Update update = new Update();
+        long delta = switch (event.changeType()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED, COMPLETED -> 0;
+        };
+        if (delta != 0) {
+            update.inc(totalField(event.entityType()), delta);
+        }
+        if (event.entityType() == EntityChangedEvent.EntityType.BOOKING) {
+            long pendingDelta = (isPending(event.paymentStatus()) ? 1 : 0) - (isPending(event.previousPaymentStatus()) ? 1 : 0);
+            if (pendingDelta != 0) {
+                update.inc("pendingBookings", pendingDelta);
+            }
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+
+        try {
+            DashboardCounters updated = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(STATS_ID)), update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), DashboardCounters.class);
+            if (updated != null) {
+                current = updated;
+            }
+        } catch (Exception e) {
+            // Never fail the originating write; the next reconciliation repairs the counters
+            logger.warn("Could not apply {} to dashboard stats: {}", event, e.getMessage());
+        }
+    }
+
+    // Pick up increments applied by other backend nodes
+    @Scheduled(fixedDelayString = "${dashboard.stats.refresh-interval-ms:30000}")
+    public void refresh() {
+        DashboardCounters stored = mongoTemplate.findById(STATS_ID, DashboardCounters.class);
+        if (stored != null) {
+            current = stored;
+        }
+    }
+
+    @Scheduled(cron = "${dashboard.stats.reconcile-cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes the stats from the source collections, corrects the materialized
+     * values and reports how far they had drifted. The stored values are read only
+     * after the recount and corrected with an increment, so events applied after the
+     * read are kept. An event landing while the recount runs may be counted by one
+     * side only, which leaves it off by one until the next reconciliation.
+     * @return The drift report, or null if another instance is already reconciling
+     */
+    public StatsDriftReport reconcile() {
+        if (!leaseLockService.tryAcquire(RECONCILE_LOCK, Duration.ofMinutes(5))) {
+            logger.info("Dashboard stats reconciliation skipped; another instance holds the lease");
+            return null;
+        }
+        try {
+            // Recount first: reading the stored values before it would count events made meanwhile twice
+            DashboardStats recomputed = dashboardService.getDashboardStats();
+            DashboardCounters stored = mongoTemplate.findById(STATS_ID, DashboardCounters.class);
+            DashboardStats materialized = stored != null ? stored.toStats() : new DashboardCounters().toStats();
+
+            Map<String, Long> drift = new LinkedHashMap<>();
+            addDrift(drift, "totalBookings", recomputed.getTotalBookings(), materialized.getTotalBookings());
+            addDrift(drift, "pendingBookings", recomputed.getPendingBookings(), materialized.getPendingBookings());
+            addDrift(drift, "totalAlbums", recomputed.getTotalAlbums(), materialized.getTotalAlbums());
+            addDrift(drift, "totalStaff", recomputed.getTotalStaff(), materialized.getTotalStaff());
+            addDrift(drift, "totalPackages", recomputed.getTotalPackages(), materialized.getTotalPackages());
+            addDrift(drift, "totalPortfolioItems", recomputed.getTotalPortfolioItems(), materialized.getTotalPortfolioItems());
+
+            // Apply only the difference; an overwrite would drop increments made since the read above
+            Update update = new Update().set("reconciledAt", new Date());
+            drift.forEach(update::inc);
+            DashboardCounters updated = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(STATS_ID)), update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), DashboardCounters.class);
+            if (updated != null) {
+                current = updated;
+            }
+
+            if (drift.isEmpty()) {
+                logger.info("Dashboard stats reconciled, no drift");
+            } else {
+                logger.warn("Dashboard stats reconciled, corrected drift: {}", drift);
+            }
+            return new StatsDriftReport(materialized, recomputed, drift, LocalDateTime.now());
+        } finally {
+            leaseLockService.release(RECONCILE_LOCK);
+        }
+    }
+
+    private static String totalField(EntityChangedEvent.EntityType entityType) {
+        return switch (entityType) {
+            case BOOKING -> "totalBookings";
+            case ALBUM -> "totalAlbums";
+            case STAFF -> "totalStaff";
+            case PACKAGE -> "totalPackages";
+            case PORTFOLIO -> "totalPortfolioItems";
+        };
+    }
+
+    private static boolean isPending(PaymentStatus paymentStatus) {
+        return paymentStatus == PaymentStatus.PENDING;
+    }
+
+    private static void addDrift(Map<String, Long> drift, String counter, long recomputed, long materialized) {
+        if (recomputed != materialized) {
+            drift.put(counter, recomputed - materialized);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.beni.backend.events;
+
+import com.beni.backend.bookings.model.PaymentStatus;
+
+/**
+ * Published by the domain services whenever a booking, album, staff member,
+ * package or portfolio item is created, updated or deleted, and when a past
+ * booking is completed.
+ *
+ * For bookings the payment status before and after the change is included so
+ * that listeners can track pending payments without re-reading the booking.
+ */
+public record EntityChangedEvent(
+        EntityType entityType,
+        ChangeType changeType,
+        String entityId,
+        PaymentStatus previousPaymentStatus,
+        PaymentStatus paymentStatus) {
+
+    public enum EntityType {
+        BOOKING, ALBUM, STAFF, PACKAGE, PORTFOLIO
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, COMPLETED
+    }
+
+    public static EntityChangedEvent created(EntityType entityType, String entityId) {
+        return new EntityChangedEvent(entityType, ChangeType.CREATED, entityId, null, null);
+    }
+
+    public static EntityChangedEvent updated(EntityType entityType, String entityId) {
+        return new EntityChangedEvent(entityType, ChangeType.UPDATED, entityId, null, null);
+    }
+
+    public static EntityChangedEvent deleted(EntityType entityType, String entityId) {
+        return new EntityChangedEvent(entityType, ChangeType.DELETED, entityId, null, null);
+    }
+
+    public static EntityChangedEvent bookingCreated(String bookingId, PaymentStatus paymentStatus) {
+        return new EntityChangedEvent(EntityType.BOOKING, ChangeType.CREATED, bookingId, null, paymentStatus);
+    }
+
+    public static EntityChangedEvent bookingUpdated(String bookingId, PaymentStatus previousPaymentStatus, PaymentStatus paymentStatus) {
+        return new EntityChangedEvent(EntityType.BOOKING, ChangeType.UPDATED, bookingId, previousPaymentStatus, paymentStatus);
+    }
+
+    /**
+     * A past booking closed by the lifecycle sweeper; its payment status is unchanged
+     */
+    public static EntityChangedEvent bookingCompleted(String bookingId, PaymentStatus paymentStatus) {
+        return new EntityChangedEvent(EntityType.BOOKING, ChangeType.COMPLETED, bookingId, paymentStatus, paymentStatus);
+    }
+
+    public static EntityChangedEvent bookingDeleted(String bookingId, PaymentStatus paymentStatus) {
+        return new EntityChangedEvent(EntityType.BOOKING, ChangeType.DELETED, bookingId, paymentStatus, null);
+    }
+}
@@ -1,12 +1,14 @@
 package com.beni.backend.favorites.controller;
 
-import com.beni.backend.albumAndPorfilio.model.Album;
+import com.beni.backend.favorites.model.AlbumCard;
 import com.beni.backend.favorites.service.UserFavoriteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -16,9 +18,23 @@ public class UserFavoriteController {
     @Autowired
     private UserFavoriteService userFavoriteService;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Without page/size the whole list is returned; with them, X-Total-Count carries the total
     @GetMapping("/{userId}/favorites")
-    public ResponseEntity<List<Album>> getUserFavorites(@PathVariable String userId) {
-        return ResponseEntity.ok(userFavoriteService.getUserFavorites(userId));
+    public ResponseEntity<List<AlbumCard>> getUserFavorites(
+            @PathVariable String userId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        if (page == null && size == null) {
+            return ResponseEntity.ok(userFavoriteService.getUserFavorites(userId));
+        }
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? 20 : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Page<AlbumCard> result = userFavoriteService.getUserFavorites(userId, pageNumber, pageSize);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                .body(result.getContent());
     }
 
     @PostMapping("/{userId}/favorites/{albumId}")
@@ -37,10 +53,28 @@ public class UserFavoriteController {
         return ResponseEntity.ok().build();
     }
 
+    // Batch variant of the check below: answers with the favorited subset of the given album ids
+    @PostMapping("/{userId}/favorites/check")
+    public ResponseEntity<Set<String>> checkFavorites(
+            @PathVariable String userId,
+            @RequestBody List<String> albumIds) {
+        try {
+            return ResponseEntity.ok(userFavoriteService.findFavoriteAlbumIds(userId, albumIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{userId}/favorites/{albumId}/check")
     public ResponseEntity<Boolean> isFavorite(
             @PathVariable String userId,
             @PathVariable String albumId) {
         return ResponseEntity.ok(userFavoriteService.isFavorite(userId, albumId));
     }
-} 
\ No newline at end of file
+
+    // Admin action: removes duplicate favorites left from before the unique (userId, albumId) index
+    @PostMapping("/favorites/deduplicate")
+    public ResponseEntity<Long> removeDuplicateFavorites() {
+        return ResponseEntity.ok(userFavoriteService.removeDuplicates());
+    }
+}
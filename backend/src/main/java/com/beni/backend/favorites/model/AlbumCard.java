@@ -0,0 +1,16 @@
+package com.beni.backend.favorites.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lightweight view of an album for favorite lists; omits the image arrays
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumCard {
+    private String id;
+    private String name;
+    private String coverImage;
+    private String category;
+}
@@ -2,11 +2,13 @@ package com.beni.backend.favorites.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "user_favorites")
+@CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': 1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
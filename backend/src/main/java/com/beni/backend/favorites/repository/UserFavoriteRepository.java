@@ -1,7 +1,11 @@
 package com.beni.backend.favorites.repository;
 
 import com.beni.backend.favorites.model.UserFavorite;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +13,11 @@ import java.util.List;
 @Repository
 public interface UserFavoriteRepository extends MongoRepository<UserFavorite, String> {
     List<UserFavorite> findByUserId(String userId);
+    List<UserFavorite> findByUserId(String userId, Sort sort);
+    Page<UserFavorite> findByUserId(String userId, Pageable pageable);
     boolean existsByUserIdAndAlbumId(String userId, String albumId);
     void deleteByUserIdAndAlbumId(String userId, String albumId);
+
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'albumId': 1 }")
+    List<UserFavorite> findAlbumIdsByUserId(String userId);
 } 
\ No newline at end of file
@@ -2,50 +2,141 @@ package com.beni.backend.favorites.service;
 
 import com.beni.backend.albumAndPorfilio.model.Album;
 import com.beni.backend.albumAndPorfilio.repository.AlbumRepository;
+import com.beni.backend.common.UniqueIndexes;
+import com.beni.backend.common.UserMembershipCache;
+import com.beni.backend.favorites.model.AlbumCard;
 import com.beni.backend.favorites.model.UserFavorite;
 import com.beni.backend.favorites.repository.UserFavoriteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class UserFavoriteService {
 
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt");
+    public static final int MAX_CHECK_IDS = 500;
+
     @Autowired
     private UserFavoriteRepository userFavoriteRepository;
 
     @Autowired
     private AlbumRepository albumRepository;
 
-    public List<Album> getUserFavorites(String userId) {
-        List<UserFavorite> favorites = userFavoriteRepository.findByUserId(userId);
-        return favorites.stream()
-            .map(favorite -> albumRepository.findById(favorite.getAlbumId()))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.toList());
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Album ids favorited by recently active users
+    private final UserMembershipCache membershipCache;
+
+    public UserFavoriteService(
+            @Value("${favorites.cache.max-users:10000}") int cacheMaxUsers,
+            @Value("${favorites.cache.ttl-ms:300000}") long cacheTtlMs) {
+        this.membershipCache = new UserMembershipCache(cacheMaxUsers, cacheTtlMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        UniqueIndexes.ensure(mongoTemplate, UserFavorite.class, "user_album", "userId", "albumId");
+    }
+
+    // One-off admin action: drops duplicate favorites so the unique index can be built
+    public long removeDuplicates() {
+        return UniqueIndexes.removeDuplicates(mongoTemplate, UserFavorite.class, "user_album", "userId", "albumId");
+    }
+
+    public List<AlbumCard> getUserFavorites(String userId) {
+        return toCards(userFavoriteRepository.findByUserId(userId, OLDEST_FIRST));
+    }
+
+    public Page<AlbumCard> getUserFavorites(String userId, int page, int size) {
+        Page<UserFavorite> favorites = userFavoriteRepository.findByUserId(userId, PageRequest.of(page, size, OLDEST_FIRST));
+        return new PageImpl<>(toCards(favorites.getContent()), favorites.getPageable(), favorites.getTotalElements());
     }
 
+    // Resolves all albums with one query and keeps the order of the favorites
+    private List<AlbumCard> toCards(List<UserFavorite> favorites) {
+        if (favorites.isEmpty()) {
+            return List.of();
+        }
+        List<String> albumIds = favorites.stream().map(UserFavorite::getAlbumId).distinct().toList();
+        Map<String, Album> albums = albumRepository.findCardsByIdIn(albumIds).stream()
+            .collect(Collectors.toMap(Album::getId, Function.identity()));
+
+        List<AlbumCard> cards = new ArrayList<>(favorites.size());
+        for (UserFavorite favorite : favorites) {
+            Album album = albums.get(favorite.getAlbumId());
+            if (album == null) {
+                continue; // Album was deleted after it was favorited
+            }
+            String cover = album.getCoverImage();
+            if (cover == null && album.getImages() != null && !album.getImages().isEmpty()) {
+                cover = album.getImages().get(0);
+            }
+            cards.add(new AlbumCard(album.getId(), album.getName(), cover, album.getCategory()));
+        }
+        return cards;
+    }
+
+    // Idempotent: the unique (userId, albumId) index makes repeated adds a no-op
     public void addFavorite(String userId, String albumId) {
-        if (!userFavoriteRepository.existsByUserIdAndAlbumId(userId, albumId)) {
-            UserFavorite favorite = UserFavorite.builder()
-                .userId(userId)
-                .albumId(albumId)
-                .createdAt(new Date())
-                .build();
-            userFavoriteRepository.save(favorite);
+        Query query = new Query(Criteria.where("userId").is(userId).and("albumId").is(albumId));
+        try {
+            mongoTemplate.upsert(query, new Update().setOnInsert("createdAt", new Date()), UserFavorite.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent add inserted the same favorite first
         }
+        membershipCache.add(userId, albumId);
     }
 
     public void removeFavorite(String userId, String albumId) {
         userFavoriteRepository.deleteByUserIdAndAlbumId(userId, albumId);
+        membershipCache.remove(userId, albumId);
     }
 
     public boolean isFavorite(String userId, String albumId) {
-        return userFavoriteRepository.existsByUserIdAndAlbumId(userId, albumId);
+        return favoriteAlbumIds(userId).contains(albumId);
+    }
+
+    // Returns the subset of albumIds the user has favorited
+    public Set<String> findFavoriteAlbumIds(String userId, Collection<String> albumIds) {
+        if (albumIds.size() > MAX_CHECK_IDS) {
+            throw new IllegalArgumentException("Cannot check more than " + MAX_CHECK_IDS + " albums at once");
+        }
+        Set<String> all = favoriteAlbumIds(userId);
+        Set<String> favorites = new LinkedHashSet<>();
+        for (String albumId : albumIds) {
+            if (all.contains(albumId)) {
+                favorites.add(albumId);
+            }
+        }
+        return favorites;
+    }
+
+    private Set<String> favoriteAlbumIds(String userId) {
+        return membershipCache.get(userId, id -> userFavoriteRepository.findAlbumIdsByUserId(id).stream()
+                .map(UserFavorite::getAlbumId)
+                .toList());
     }
-} 
\ No newline at end of file
+}
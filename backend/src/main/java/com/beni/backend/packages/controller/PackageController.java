@@ -3,9 +3,11 @@ package com.beni.backend.packages.controller;
 import com.beni.backend.packages.model.Package;
 import com.beni.backend.packages.service.PackageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +16,9 @@ import java.util.Optional;
 @RequestMapping("/api/packages")
 public class PackageController {
 
+    // Clients and the CDN may store responses but must revalidate them with the ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
     @Autowired
     private PackageService packageService;
 
@@ -25,16 +30,25 @@ public class PackageController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Package>> getAllPackages() {
-        List<Package> packages = packageService.getAllPackages();
-        return new ResponseEntity<>(packages, HttpStatus.OK);
+    public ResponseEntity<List<Package>> getAllPackages(WebRequest request) {
+        PackageService.Catalog catalog = packageService.getCatalog();
+        if (request.checkNotModified(catalog.version())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.version()).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(catalog.version()).cacheControl(REVALIDATE).body(catalog.packages());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Package> getPackageById(@PathVariable String id) {
-        Optional<Package> packageOptional = packageService.getPackageById(id);
-        return packageOptional.map(packageObj -> new ResponseEntity<>(packageObj, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Package> getPackageById(@PathVariable String id, WebRequest request) {
+        Optional<PackageService.CachedPackage> cached = packageService.getCachedPackage(id);
+        if (cached.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        String etag = cached.get().etag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(cached.get().pkg());
     }
 
     // Add PUT mapping for updating a package
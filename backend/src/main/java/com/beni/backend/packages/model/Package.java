@@ -14,6 +14,7 @@ public class Package {
     private AdditionalItems additionalItems;
     private int investment;  // The price in LKR
     private String packageType;
+    private int durationHours;  // Length of the shoot; 0 means the configured default
 
     // Getters and Setters
     public String getId() {
@@ -64,6 +65,14 @@ public class Package {
         this.packageType = packageType;
     }
 
+    public int getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(int durationHours) {
+        this.durationHours = durationHours;
+    }
+
     // Nested AdditionalItems class
     public static class AdditionalItems {
         private String editedImages;
@@ -1,65 +0,0 @@
-package com.beni.backend.packages.service;
-
-import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
-
-
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
-
-@Service("packageFileStorageService")
-public class PackageFileStorageService {
-
-    private final Path fileStorageLocation;
-
-    public PackageFileStorageService() {
-        this.fileStorageLocation = Paths.get("uploads")
-                .toAbsolutePath().normalize();
-        try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
-        }
-    }
-
-    public String storeFile(MultipartFile file) {
-        // Normalize file name
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null) {
-            throw new RuntimeException("File name cannot be null");
-        }
-        String fileName = StringUtils.cleanPath(originalFilename);
-        
-        try {
-            // Check if the file's name contains invalid characters
-            if(fileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + fileName);
-            }
-
-            // Generate a unique filename
-            String uniqueFileName = UUID.randomUUID().toString() + "_" + fileName;
-            
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            return uniqueFileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
-        }
-    }
-
-    public void deleteFile(String fileName) {
-        try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete file " + fileName + ". Please try again!", ex);
-        }
-    }
-} 
\ No newline at end of file
@@ -1,12 +1,23 @@
 package com.beni.backend.packages.service;
 
 import com.beni.backend.packages.model.Package;
+import com.beni.backend.events.EntityChangedEvent;
 import com.beni.backend.packages.repository.PackageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class PackageService {
@@ -14,20 +25,105 @@ public class PackageService {
     @Autowired
     private PackageRepository packageRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Writes on another instance are only seen after this long
+    @Value("${packages.cache-ttl-ms:60000}")
+    private long cacheTtlMs;
+
+    /** A package together with the ETag of its JSON representation. */
+    public record CachedPackage(Package pkg, String etag) {
+    }
+
+    /** The whole catalog as last read from Mongo; version is a hash of its JSON form. */
+    public record Catalog(List<Package> packages, String version) {
+    }
+
+    private record Snapshot(Catalog catalog, Map<String, CachedPackage> byId, long loadedAt) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    // Bumped on every local write so a load that raced with the write is not installed
+    private final AtomicLong generation = new AtomicLong();
+
     public Package savePackage(Package packageObj) {
-        return packageRepository.save(packageObj);  // Will either create or update depending on whether the package has an ID
+        boolean isNew = packageObj.getId() == null || !packageRepository.existsById(packageObj.getId());
+        Package savedPackage = packageRepository.save(packageObj);  // Will either create or update depending on whether the package has an ID
+        invalidate();
+        eventPublisher.publishEvent(isNew
+                ? EntityChangedEvent.created(EntityChangedEvent.EntityType.PACKAGE, savedPackage.getId())
+                : EntityChangedEvent.updated(EntityChangedEvent.EntityType.PACKAGE, savedPackage.getId()));
+        return savedPackage;
     }
 
     public List<Package> getAllPackages() {
-        return packageRepository.findAll();
+        return getCatalog().packages();
+    }
+
+    public Catalog getCatalog() {
+        return current().catalog();
     }
 
     public Optional<Package> getPackageById(String id) {
-        return packageRepository.findById(id);
+        return getCachedPackage(id).map(CachedPackage::pkg);
+    }
+
+    public Optional<CachedPackage> getCachedPackage(String id) {
+        return Optional.ofNullable(current().byId().get(id));
     }
 
     public void deletePackageById(String id) {
+        if (!packageRepository.existsById(id)) {
+            return;
+        }
         packageRepository.deleteById(id);
+        invalidate();
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.EntityType.PACKAGE, id));
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot cached = snapshot;
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < cacheTtlMs) {
+            return cached;
+        }
+        return load();
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot cached = snapshot;
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < cacheTtlMs) {
+            return cached;
+        }
+        long startGeneration = generation.get();
+        List<Package> packages = List.copyOf(packageRepository.findAll());
+        Map<String, CachedPackage> byId = new LinkedHashMap<>();
+        for (Package pkg : packages) {
+            byId.put(pkg.getId(), new CachedPackage(pkg, etag(pkg)));
+        }
+        Snapshot loaded = new Snapshot(new Catalog(packages, etag(packages)), Map.copyOf(byId), System.currentTimeMillis());
+        if (generation.get() == startGeneration) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private String etag(Object value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(value));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute package catalog version", e);
+        }
     }
 
 }
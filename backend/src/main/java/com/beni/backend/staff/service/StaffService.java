@@ -1,10 +1,13 @@
 package com.beni.backend.staff.service;
 
+import com.beni.backend.bookings.service.BookingStaffEnricher;
+import com.beni.backend.events.EntityChangedEvent;
 import com.beni.backend.staff.model.Staff;
 import com.beni.backend.staff.repository.StaffRepository;
 import com.beni.backend.login.model.User;
 import com.beni.backend.login.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +22,12 @@ public class StaffService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingStaffEnricher bookingStaffEnricher;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all staff (Admin can view all staff)
     public List<Staff> getAllStaff() {
         return staffRepository.findAll();
@@ -47,7 +56,9 @@ public class StaffService {
             userRepository.save(user);
 
             // Then save the staff member
-            return staffRepository.save(staff);
+            Staff savedStaff = staffRepository.save(staff);
+            eventPublisher.publishEvent(EntityChangedEvent.created(EntityChangedEvent.EntityType.STAFF, savedStaff.getId()));
+            return savedStaff;
         } catch (Exception e) {
             throw new RuntimeException("Error adding staff", e);
         }
@@ -66,13 +77,20 @@ public class StaffService {
             staff.setAvailability(updatedStaff.isAvailability());
             staff.setAvailabilityStartDate(updatedStaff.getAvailabilityStartDate());
             staff.setAvailabilityEndDate(updatedStaff.getAvailabilityEndDate());
-            return staffRepository.save(staff);
+            Staff savedStaff = staffRepository.save(staff);
+            bookingStaffEnricher.evict(id);
+            return savedStaff;
         }).orElse(null);
     }
 
     // Delete staff (Admin can delete staff)
     public void deleteStaff(String id) {
+        if (!staffRepository.existsById(id)) {
+            return;
+        }
         staffRepository.deleteById(id);
+        bookingStaffEnricher.evict(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityChangedEvent.EntityType.STAFF, id));
     }
 
     // Get staff availability (Admin can view the availability status of all staff members)
@@ -97,8 +115,8 @@ public class StaffService {
         Optional<Staff> staffOptional = staffRepository.findById(id);
         if (staffOptional.isPresent()) {
             Staff staff = staffOptional.get();
+            // Availability stays as set by the staff member; time conflicts are checked per booking by StaffScheduleService
             staff.setAssignedBookingId(bookingId);
-            staff.setAvailability(false); // Set availability to false when assigned
             return staffRepository.save(staff);
         }
         throw new RuntimeException("Staff not found");
@@ -110,7 +128,6 @@ public class StaffService {
         if (staffOptional.isPresent()) {
             Staff staff = staffOptional.get();
             staff.setAssignedBookingId(null);
-            staff.setAvailability(true); // Set availability to true when unassigned
             return staffRepository.save(staff);
         }
         throw new RuntimeException("Staff not found");
@@ -0,0 +1,26 @@
+package com.beni.backend.storage.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Reference count for a content-addressed upload. The id is the stored file
+ * name: the SHA-256 of the file's bytes plus the original extension.
+ * deletingSince is set while the last reference's file is being removed; the
+ * record is a tombstone until then and new references wait for it to go.
+ */
+@Data
+@Document(collection = "blobs")
+public class StoredBlob {
+    @Id
+    private String id;
+    private long size;
+    private String contentType;
+    private int refCount;
+    private Date createdAt;
+    private Date deletingSince;
+    private String deleteToken;
+}
@@ -0,0 +1,289 @@
+package com.beni.backend.storage.service;
+
+import com.beni.backend.storage.model.StoredBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for uploaded files. Files are named by the SHA-256
+ * of their bytes, so identical uploads to albums and portfolios are
+ * kept on disk once. Every reference is counted in the blobs collection and the
+ * file is only removed when the last reference is released.
+ *
+ * Removal is coordinated through Mongo so it is safe across nodes: releasing the
+ * last reference turns the record into a tombstone, and a new reference to the
+ * same content waits until the file is gone and the tombstone removed. A
+ * tombstone left behind by a node that died mid-delete is taken over after
+ * storage.blob-delete-timeout-ms.
+ */
+@Service
+public class BlobStoreService {
+    private static final Logger logger = LoggerFactory.getLogger(BlobStoreService.class);
+
+    private static final Pattern BLOB_NAME = Pattern.compile("^([0-9a-f]{64})(\\.[a-z0-9]{1,5})?$");
+    private static final Pattern EXTENSION = Pattern.compile("^[a-z0-9]{1,5}$");
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final Path rootLocation;
+    private final long deleteTimeoutMs;
+
+    public BlobStoreService(MongoTemplate mongoTemplate,
+                            @Value("${storage.root:backend/uploads}") String root,
+                            @Value("${storage.blob-delete-timeout-ms:60000}") long deleteTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.rootLocation = Paths.get(root).toAbsolutePath().normalize();
+        this.deleteTimeoutMs = deleteTimeoutMs;
+        try {
+            Files.createDirectories(rootLocation);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not initialize storage folder!", e);
+        }
+    }
+
+    /**
+     * Result of storing an upload. created is false when identical bytes were already stored.
+     */
+    public record StoredFile(String filename, long size, boolean created) {
+    }
+
+    /**
+     * Streams the upload to disk while hashing it and takes one reference on the resulting blob
+     * @param file The uploaded file
+     * @return The content-addressed file name
+     */
+    public StoredFile store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new RuntimeException("File is empty!");
+        }
+
+        Path tempFile = rootLocation.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(file.getInputStream());
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String filename = HexFormat.of().formatHex(digest.digest()) + extensionOf(file.getOriginalFilename());
+            Path destination = rootLocation.resolve(filename);
+
+            boolean tookOverDeletion = acquire(filename, size, file.getContentType());
+            try {
+                // Our reference keeps the live record from being deleted, so an existing file stays
+                if (!tookOverDeletion && Files.exists(destination)) {
+                    Files.delete(tempFile);
+                    return new StoredFile(filename, size, false);
+                }
+                // No file yet, or a stalled deletion may still remove the old one: put our own copy in place
+                Files.move(tempFile, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                return new StoredFile(filename, size, true);
+            } catch (IOException e) {
+                release(filename, null);
+                throw e;
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(tempFile);
+            throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drops one reference to a blob, deleting the file once nothing refers to it
+     * @param filename The content-addressed file name
+     * @param onDelete Optional cleanup for files derived from the blob; runs before the blob
+     *                 can be stored again, so it never removes files belonging to a new upload
+     * @return true if the file itself was deleted
+     */
+    public boolean release(String filename, Consumer<Path> onDelete) {
+        if (!isBlobName(filename)) {
+            throw new IllegalArgumentException("Not a content-addressed file name: " + filename);
+        }
+        StoredBlob blob = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(filename).and("deletingSince").is(null).and("refCount").gt(0)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true), StoredBlob.class);
+        if (blob == null) {
+            logger.warn("No reference left to release on blob {}", filename);
+            return false;
+        }
+        if (blob.getRefCount() > 0) {
+            return false;
+        }
+
+        // Turn the record into a tombstone; this fails if a new reference arrived in the meantime
+        String token = UUID.randomUUID().toString();
+        Query unreferenced = new Query(Criteria.where("_id").is(filename)
+                .and("refCount").lte(0).and("deletingSince").is(null));
+        Update tombstone = new Update().set("deletingSince", new Date()).set("deleteToken", token);
+        if (mongoTemplate.updateFirst(unreferenced, tombstone, StoredBlob.class).getModifiedCount() == 0) {
+            return false;
+        }
+
+        // Move the file aside first so it can be put back if the tombstone is taken over meanwhile
+        Path destination = rootLocation.resolve(filename);
+        Path trash = rootLocation.resolve(filename + "." + token + ".deleting");
+        boolean moved = false;
+        try {
+            Files.move(destination, trash, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } catch (NoSuchFileException e) {
+            // Already gone
+        } catch (IOException e) {
+            logger.warn("Could not remove blob {}: {}", filename, e.getMessage());
+        }
+        if (onDelete != null) {
+            onDelete.accept(destination);
+        }
+
+        boolean removed = mongoTemplate.remove(
+                new Query(Criteria.where("_id").is(filename).and("deleteToken").is(token)), StoredBlob.class)
+                .getDeletedCount() == 1;
+        if (removed) {
+            if (moved) {
+                deleteQuietly(trash);
+            }
+            logger.debug("Deleted unreferenced blob {}", filename);
+            return true;
+        }
+
+        // This deletion stalled past the timeout and an upload revived the blob; keep the content
+        if (moved) {
+            try {
+                if (Files.exists(destination)) {
+                    Files.delete(trash);
+                } else {
+                    Files.move(trash, destination, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                logger.warn("Could not restore revived blob {}: {}", filename, e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    public boolean isBlobName(String filename) {
+        return filename != null && BLOB_NAME.matcher(filename).matches();
+    }
+
+    /**
+     * Returns the SHA-256 content hash encoded in a blob name, or null for legacy file names
+     */
+    public String contentHash(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        var matcher = BLOB_NAME.matcher(filename);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    // Resolve a stored file name to its location, refusing names that escape the storage folder
+    public Path resolve(String filename) {
+        Path target = rootLocation.resolve(filename).normalize();
+        if (!target.startsWith(rootLocation) || target.equals(rootLocation)) {
+            throw new IllegalArgumentException("Invalid file name: " + filename);
+        }
+        return target;
+    }
+
+    public Path getRootLocation() {
+        return rootLocation;
+    }
+
+    /**
+     * Takes one reference on the blob's record, creating it if needed. Waits while the
+     * blob is being deleted elsewhere, and takes over a deletion that has stalled.
+     * @return true if a stalled deletion was taken over, in which case the file may still vanish
+     */
+    private boolean acquire(String filename, long size, String contentType) throws IOException {
+        Query live = new Query(Criteria.where("_id").is(filename).and("deletingSince").is(null));
+        Update update = new Update()
+                .inc("refCount", 1)
+                .setOnInsert("size", size)
+                .setOnInsert("contentType", contentType)
+                .setOnInsert("createdAt", new Date());
+        for (int attempt = 0; ; attempt++) {
+            try {
+                mongoTemplate.upsert(live, update, StoredBlob.class);
+                return false;
+            } catch (DuplicateKeyException e) {
+                // The record is a tombstone, or another node inserted it first and the next attempt applies
+            }
+
+            Query stalled = new Query(Criteria.where("_id").is(filename)
+                    .and("deletingSince").lt(new Date(System.currentTimeMillis() - deleteTimeoutMs)));
+            Update revive = new Update().set("refCount", 1).unset("deletingSince").unset("deleteToken");
+            if (mongoTemplate.updateFirst(stalled, revive, StoredBlob.class).getModifiedCount() == 1) {
+                logger.warn("Took over a stalled deletion of blob {}", filename);
+                return true;
+            }
+
+            if (attempt > 0) {
+                try {
+                    Thread.sleep(Math.min(10L * attempt, 200L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for blob " + filename + " to be deleted", e);
+                }
+            }
+        }
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not remove {}: {}", path, e.getMessage());
+        }
+    }
+}
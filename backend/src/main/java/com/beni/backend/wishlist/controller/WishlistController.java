@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/wishlist")
@@ -34,10 +35,28 @@ public class WishlistController {
         return ResponseEntity.ok().build();
     }
 
+    // Batch variant of the check below: answers with the wishlisted subset of the given package ids
+    @PostMapping("/check")
+    public ResponseEntity<Set<String>> checkWishlist(
+            @RequestParam String userId,
+            @RequestBody List<String> packageIds) {
+        try {
+            return ResponseEntity.ok(wishlistService.findWishlistedPackageIds(userId, packageIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/check")
     public ResponseEntity<Boolean> isInWishlist(
             @RequestParam String userId,
             @RequestParam String packageId) {
         return ResponseEntity.ok(wishlistService.isInWishlist(userId, packageId));
     }
-} 
\ No newline at end of file
+
+    // Admin action: removes duplicate entries left from before the unique (userId, packageId) index
+    @PostMapping("/deduplicate")
+    public ResponseEntity<Long> removeDuplicates() {
+        return ResponseEntity.ok(wishlistService.removeDuplicates());
+    }
+}
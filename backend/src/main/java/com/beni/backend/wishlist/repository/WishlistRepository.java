@@ -2,10 +2,15 @@ package com.beni.backend.wishlist.repository;
 
 import com.beni.backend.wishlist.model.Wishlist;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
 import java.util.List;
 
 public interface WishlistRepository extends MongoRepository<Wishlist, String> {
     List<Wishlist> findByUserId(String userId);
     boolean existsByUserIdAndPackageId(String userId, String packageId);
     void deleteByUserIdAndPackageId(String userId, String packageId);
+
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'packageId': 1 }")
+    List<Wishlist> findPackageIdsByUserId(String userId);
 } 
\ No newline at end of file
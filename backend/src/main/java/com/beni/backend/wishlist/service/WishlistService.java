@@ -1,35 +1,108 @@
 package com.beni.backend.wishlist.service;
 
+import com.beni.backend.common.UniqueIndexes;
+import com.beni.backend.common.UserMembershipCache;
 import com.beni.backend.wishlist.model.Wishlist;
 import com.beni.backend.wishlist.repository.WishlistRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class WishlistService {
 
+    public static final int MAX_CHECK_IDS = 500;
+
     @Autowired
     private WishlistRepository wishlistRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Package ids wishlisted by recently active users
+    private final UserMembershipCache membershipCache;
+
+    public WishlistService(
+            @Value("${wishlist.cache.max-users:10000}") int cacheMaxUsers,
+            @Value("${wishlist.cache.ttl-ms:300000}") long cacheTtlMs) {
+        this.membershipCache = new UserMembershipCache(cacheMaxUsers, cacheTtlMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        UniqueIndexes.ensure(mongoTemplate, Wishlist.class, "user_package", "userId", "packageId");
+    }
+
+    // One-off admin action: drops duplicate wishlist entries so the unique index can be built
+    public long removeDuplicates() {
+        return UniqueIndexes.removeDuplicates(mongoTemplate, Wishlist.class, "user_package", "userId", "packageId");
+    }
+
     public List<Wishlist> getUserWishlist(String userId) {
         return wishlistRepository.findByUserId(userId);
     }
 
+    // Idempotent: adding a package that is already wishlisted refreshes its details
     public Wishlist addToWishlist(Wishlist wishlist) {
-        // Check if item already exists in wishlist
-        if (wishlistRepository.existsByUserIdAndPackageId(wishlist.getUserId(), wishlist.getPackageId())) {
-            throw new RuntimeException("Package already in wishlist");
+        Query query = new Query(Criteria.where("userId").is(wishlist.getUserId())
+                .and("packageId").is(wishlist.getPackageId()));
+        Update update = new Update()
+                .set("packageType", wishlist.getPackageType())
+                .set("packageName", wishlist.getPackageName())
+                .set("price", wishlist.getPrice())
+                .set("imageUrl", wishlist.getImageUrl());
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        Wishlist saved;
+        try {
+            saved = mongoTemplate.findAndModify(query, update, options, Wishlist.class);
+        } catch (DuplicateKeyException e) {
+            // A concurrent add inserted the item first; update the existing one
+            saved = mongoTemplate.findAndModify(query, update, options.upsert(false), Wishlist.class);
         }
-        return wishlistRepository.save(wishlist);
+        membershipCache.add(wishlist.getUserId(), wishlist.getPackageId());
+        return saved;
     }
 
     public void removeFromWishlist(String userId, String packageId) {
         wishlistRepository.deleteByUserIdAndPackageId(userId, packageId);
+        membershipCache.remove(userId, packageId);
     }
 
     public boolean isInWishlist(String userId, String packageId) {
-        return wishlistRepository.existsByUserIdAndPackageId(userId, packageId);
+        return wishlistedPackageIds(userId).contains(packageId);
+    }
+
+    // Returns the subset of packageIds in the user's wishlist
+    public Set<String> findWishlistedPackageIds(String userId, Collection<String> packageIds) {
+        if (packageIds.size() > MAX_CHECK_IDS) {
+            throw new IllegalArgumentException("Cannot check more than " + MAX_CHECK_IDS + " packages at once");
+        }
+        Set<String> all = wishlistedPackageIds(userId);
+        Set<String> wishlisted = new LinkedHashSet<>();
+        for (String packageId : packageIds) {
+            if (all.contains(packageId)) {
+                wishlisted.add(packageId);
+            }
+        }
+        return wishlisted;
+    }
+
+    private Set<String> wishlistedPackageIds(String userId) {
+        return membershipCache.get(userId, id -> wishlistRepository.findPackageIdsByUserId(id).stream()
+                .map(Wishlist::getPackageId)
+                .toList());
     }
 } 
\ No newline at end of file
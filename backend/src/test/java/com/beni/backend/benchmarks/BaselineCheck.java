@@ -0,0 +1,110 @@
+package com.beni.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when any benchmark is slower
+ * than the baseline by more than the allowed threshold. Run by the benchmarks Maven profile.
+ *
+ * Usage: BaselineCheck <result.json> <baseline.json> [threshold]
+ * Pass -Dbenchmarks.update-baseline=true to replace the baseline with the current result instead.
+ */
+public final class BaselineCheck {
+
+    private static final double DEFAULT_THRESHOLD = 0.25;
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BaselineCheck <result.json> <baseline.json> [threshold]");
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        if (!Files.exists(resultFile)) {
+            throw new IllegalStateException("No benchmark results at " + resultFile);
+        }
+        if (Boolean.getBoolean("benchmarks.update-baseline")) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Benchmark baseline updated: " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("No benchmark baseline at " + baselineFile
+                    + ". Record one with -Dbenchmarks.update-baseline=true on the reference machine and commit it.");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Score> baseline = readScores(objectMapper.readTree(baselineFile.toFile()));
+        Map<String, Score> current = readScores(objectMapper.readTree(resultFile.toFile()));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %-70s %12.3f %s%n", entry.getKey(), now.value(), now.unit());
+                continue;
+            }
+            if (!before.unit().equals(now.unit()) || !before.mode().equals(now.mode())) {
+                System.out.printf("SKIP  %-70s unit or mode changed since the baseline%n", entry.getKey());
+                continue;
+            }
+            // Positive change means slower, whichever way the mode measures
+            double change = now.higherIsBetter()
+                    ? (before.value() - now.value()) / before.value()
+                    : (now.value() - before.value()) / before.value();
+            boolean regressed = change > threshold;
+            System.out.printf("%-5s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                    regressed ? "SLOW" : "OK", entry.getKey(), before.value(), now.value(), now.unit(), change * 100);
+            if (regressed) {
+                regressions.add(entry.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " benchmark(s) regressed by more than "
+                    + Math.round(threshold * 100) + "%: " + regressions);
+        }
+    }
+
+    private static Map<String, Score> readScores(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(
+                    result.path("mode").asText(),
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(String mode, double value, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.beni.backend.benchmarks;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.PaymentStatus;
+import com.beni.backend.packages.model.Package;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Representative entities shared by the benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A booking that passes every validation rule with the default booking configuration
+     */
+    static Booking validBooking() {
+        Booking booking = new Booking();
+        booking.setId("6650f1c2a4b7e93d1c0a1b2c");
+        booking.setDateTime(LocalDateTime.now().plusDays(7).withHour(10).withMinute(0).withSecond(0).withNano(0));
+        booking.setClientId("6650f0aa9e1d4c2b7f3e8a91");
+        booking.setBookingStatus(BookingStatus.UPCOMING);
+        booking.setPaymentStatus(PaymentStatus.PENDING);
+        booking.setPhoneNumber("+94771234567");
+        booking.setEmail("nimal.perera@example.com");
+        booking.setLocation("Colombo");
+        booking.setPackageName("Wedding Premium");
+        booking.setPrice(185000);
+        booking.setAssignedStaffId("6650f0d17c3a2b1e4f5d6c7b");
+        booking.setAssignedStaffName("Kasun Silva");
+        return booking;
+    }
+
+    static Package weddingPackage() {
+        Package.Album album = new Package.Album();
+        album.setSize("12x36");
+        album.setType("Magazine");
+        album.setSpreadCount(30);
+
+        Package.FramedPortrait portrait = new Package.FramedPortrait();
+        portrait.setSize("16x24");
+        portrait.setQuantity(2);
+
+        Package.AdditionalItems items = new Package.AdditionalItems();
+        items.setEditedImages("300");
+        items.setUneditedImages("All");
+        items.setAlbums(List.of(album));
+        items.setFramedPortraits(List.of(portrait));
+        items.setThankYouCards(150);
+
+        Package pkg = new Package();
+        pkg.setId("6650f2e8b1c4d7a9e3f20d11");
+        pkg.setName("Wedding Premium");
+        pkg.setServicesIncluded(List.of(
+                "Pre-shoot", "Wedding day coverage", "Homecoming coverage", "Drone coverage", "Online gallery"));
+        pkg.setAdditionalItems(items);
+        pkg.setInvestment(185000);
+        pkg.setPackageType("Wedding");
+        pkg.setDurationHours(8);
+        return pkg;
+    }
+}
@@ -0,0 +1,74 @@
+package com.beni.backend.benchmarks;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.repository.BookingConfigRepository;
+import com.beni.backend.bookings.repository.BookingRepository;
+import com.beni.backend.bookings.repository.PricingConfigRepository;
+import com.beni.backend.bookings.service.BookingConfigService;
+import com.beni.backend.bookings.service.BookingFieldValidator;
+import com.beni.backend.bookings.service.BookingValidationService;
+import com.beni.backend.bookings.service.LocationPricingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking validation as run on every create request: the field checks in BookingFieldValidator and
+ * the full BookingValidationService pass against in-memory repositories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingValidationBenchmark {
+
+    private Booking validBooking;
+    private Booking invalidEmailBooking;
+    private BookingFieldValidator fieldValidator;
+    private BookingValidationService validationService;
+
+    @Setup
+    public void setUp() {
+        validBooking = BenchmarkFixtures.validBooking();
+        invalidEmailBooking = BenchmarkFixtures.validBooking();
+        invalidEmailBooking.setEmail("not-an-email");
+
+        BookingConfigService configService = new BookingConfigService(
+                InMemoryRepositories.create(BookingConfigRepository.class), null);
+        fieldValidator = new BookingFieldValidator();
+        validationService = new BookingValidationService(
+                new LocationPricingService(InMemoryRepositories.create(PricingConfigRepository.class), null),
+                configService, fieldValidator);
+        ReflectionTestUtils.setField(validationService, "bookingRepository",
+                InMemoryRepositories.create(BookingRepository.class));
+    }
+
+    @Benchmark
+    public Map<String, String> validateFields() {
+        return fieldValidator.validate(validBooking);
+    }
+
+    @Benchmark
+    public Map<String, String> validateFieldsRejected() {
+        return fieldValidator.validate(invalidEmailBooking);
+    }
+
+    @Benchmark
+    public Booking validateBooking() {
+        validationService.validateBooking(validBooking);
+        return validBooking;
+    }
+}
@@ -0,0 +1,68 @@
+package com.beni.backend.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed stand-ins for Spring Data repositories so services can be benchmarked without MongoDB.
+ * Only the basic CRUD methods are supported; anything else throws UnsupportedOperationException.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R create(Class<R> repositoryType) {
+        Map<Object, Object> store = new ConcurrentHashMap<>();
+        return (R) Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (proxy, method, args) -> invoke(store, proxy, method, args));
+    }
+
+    private static Object invoke(Map<Object, Object> store, Object proxy, Method method, Object[] args) throws Exception {
+        switch (method.getName()) {
+            case "save":
+                store.put(idOf(args[0]), args[0]);
+                return args[0];
+            case "findById":
+                return Optional.ofNullable(store.get(args[0]));
+            case "existsById":
+                return store.containsKey(args[0]);
+            case "findAll":
+                if (args == null || args.length == 0) {
+                    return new ArrayList<>(store.values());
+                }
+                break;
+            case "count":
+                return (long) store.size();
+            case "deleteById":
+                store.remove(args[0]);
+                return null;
+            case "deleteAll":
+                if (args == null || args.length == 0) {
+                    store.clear();
+                    return null;
+                }
+                break;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryRepository" + store.keySet();
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException(method.getName() + " is not supported by the in-memory repository");
+    }
+
+    private static Object idOf(Object entity) throws Exception {
+        return entity.getClass().getMethod("getId").invoke(entity);
+    }
+}
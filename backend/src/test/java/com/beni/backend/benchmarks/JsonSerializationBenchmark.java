@@ -0,0 +1,77 @@
+package com.beni.backend.benchmarks;
+
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.packages.model.Package;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the booking and package payloads, using an ObjectMapper configured
+ * the same way as the one Spring MVC builds for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private Booking booking;
+    private Package pkg;
+    private String bookingJson;
+    private String packageJson;
+
+    private ObjectWriter bookingWriter;
+    private ObjectReader bookingReader;
+    private ObjectWriter packageWriter;
+    private ObjectReader packageReader;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookingWriter = objectMapper.writerFor(Booking.class);
+        bookingReader = objectMapper.readerFor(Booking.class);
+        packageWriter = objectMapper.writerFor(Package.class);
+        packageReader = objectMapper.readerFor(Package.class);
+
+        booking = BenchmarkFixtures.validBooking();
+        pkg = BenchmarkFixtures.weddingPackage();
+        bookingJson = bookingWriter.writeValueAsString(booking);
+        packageJson = packageWriter.writeValueAsString(pkg);
+    }
+
+    @Benchmark
+    public String serializeBooking() throws Exception {
+        return bookingWriter.writeValueAsString(booking);
+    }
+
+    @Benchmark
+    public Booking deserializeBooking() throws Exception {
+        return bookingReader.readValue(bookingJson);
+    }
+
+    @Benchmark
+    public String serializePackage() throws Exception {
+        return packageWriter.writeValueAsString(pkg);
+    }
+
+    @Benchmark
+    public Package deserializePackage() throws Exception {
+        return packageReader.readValue(packageJson);
+    }
+}
@@ -0,0 +1,57 @@
+package com.beni.backend.benchmarks;
+
+import com.beni.backend.bookings.model.PriceQuote;
+import com.beni.backend.bookings.repository.PricingConfigRepository;
+import com.beni.backend.bookings.service.LocationPricingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Location price calculation and a full package/date quote for a known district, an unknown
+ * location and a blank one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationPricingBenchmark {
+
+    @Param({"Colombo", "Jaffna", "Nuwara Eliya", ""})
+    public String location;
+
+    private double basePrice;
+    private LocalDate date;
+    private LocationPricingService pricingService;
+
+    @Setup
+    public void setUp() {
+        basePrice = 185000;
+        pricingService = new LocationPricingService(
+                InMemoryRepositories.create(PricingConfigRepository.class), null);
+        date = LocalDate.now().plusDays(7);
+    }
+
+    @Benchmark
+    public double calculateTotalPrice() {
+        return pricingService.calculateTotalPrice(basePrice, location);
+    }
+
+    @Benchmark
+    public PriceQuote quote() {
+        return pricingService.quote(basePrice, location, "Wedding Premium", date);
+    }
+}
@@ -0,0 +1,98 @@
+package com.beni.backend.benchmarks;
+
+import com.beni.backend.bookings.model.AutoAssignmentPlan;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.service.StaffAutoAssignmentService;
+import com.beni.backend.bookings.service.StaffScheduleService;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.packages.service.PackageService;
+import com.beni.backend.staff.model.Staff;
+import com.beni.backend.staff.repository.StaffRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Auto-assignment planning for a season: 600 unassigned bookings over 120 days and 25 staff
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaffAutoAssignmentBenchmark {
+
+    private StaffAutoAssignmentService service;
+
+    @Setup
+    public void setUp() {
+        LocalDate firstDay = LocalDate.now().plusDays(10);
+        Random random = new Random(42);
+        String[] specializations = {"Weddings", "Portraits", "Events", null};
+        List<Staff> staff = new ArrayList<>();
+        for (int s = 0; s < 25; s++) {
+            Staff member = new Staff();
+            member.setId("s" + s);
+            member.setName("s" + s);
+            member.setHourlyRate(20 + random.nextInt(80));
+            member.setSpecialization(specializations[s % specializations.length]);
+            member.setAvailability(true);
+            staff.add(member);
+        }
+        List<Booking> bookings = new ArrayList<>();
+        for (int d = 0; d < 120; d++) {
+            for (int k = 0; k < 5; k++) {
+                Booking booking = new Booking();
+                booking.setId("b" + d + "-" + k);
+                booking.setDateTime(firstDay.plusDays(d).atTime(6 + random.nextInt(12), 0));
+                booking.setPackageName("Wedding Premium");
+                booking.setBookingStatus(BookingStatus.UPCOMING);
+                bookings.add(booking);
+            }
+        }
+
+        // Stub-only mocks keep no invocation history, so memory stays flat across iterations
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        StaffRepository staffRepository = mock(StaffRepository.class, withSettings().stubOnly());
+        StaffScheduleService staffScheduleService = mock(StaffScheduleService.class, withSettings().stubOnly());
+        PackageService packageService = mock(PackageService.class, withSettings().stubOnly());
+        Package wedding = BenchmarkFixtures.weddingPackage();
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class))).thenReturn(bookings);
+        when(staffRepository.findByAvailabilityTrue()).thenReturn(staff);
+        when(packageService.getAllPackages()).thenReturn(List.of(wedding));
+        when(staffScheduleService.durationHours(any())).thenReturn(4);
+
+        service = new StaffAutoAssignmentService(mongoTemplate, staffRepository, staffScheduleService, packageService);
+        ReflectionTestUtils.setField(service, "mismatchPenalty", 5000.0);
+        ReflectionTestUtils.setField(service, "maxRounds", 50);
+    }
+
+    @Benchmark
+    public AutoAssignmentPlan preview() {
+        return service.preview();
+    }
+}
@@ -0,0 +1,76 @@
+package com.beni.backend.bookings.model;
+
+import com.beni.backend.bookings.exception.BookingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingStatusTests {
+
+    @Test
+    void upcomingBookingsCanBeCompletedOrCancelled() {
+        assertEquals(EnumSet.allOf(BookingStatus.class), targetsOf(BookingStatus.UPCOMING));
+    }
+
+    @Test
+    void completedAndCancelledAreFinal() {
+        assertEquals(EnumSet.of(BookingStatus.COMPLETED), targetsOf(BookingStatus.COMPLETED));
+        assertEquals(EnumSet.of(BookingStatus.CANCELLED), targetsOf(BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void paymentsMoveFromPendingToPaidToRefunded() {
+        assertTrue(PaymentStatus.PENDING.canTransitionTo(PaymentStatus.PAID));
+        assertTrue(PaymentStatus.PAID.canTransitionTo(PaymentStatus.REFUNDED));
+        assertFalse(PaymentStatus.PENDING.canTransitionTo(PaymentStatus.REFUNDED));
+        assertFalse(PaymentStatus.PAID.canTransitionTo(PaymentStatus.PENDING));
+        assertFalse(PaymentStatus.REFUNDED.canTransitionTo(PaymentStatus.PAID));
+        assertFalse(PaymentStatus.REFUNDED.canTransitionTo(PaymentStatus.PENDING));
+        for (PaymentStatus status : PaymentStatus.values()) {
+            assertTrue(status.canTransitionTo(status));
+        }
+    }
+
+    @Test
+    void bookingRejectsDisallowedTransitions() {
+        Booking booking = new Booking();
+        booking.changeBookingStatus(BookingStatus.UPCOMING);
+        booking.changeBookingStatus(BookingStatus.CANCELLED);
+        assertThrows(BookingException.class, () -> booking.changeBookingStatus(BookingStatus.UPCOMING));
+        assertEquals(BookingStatus.CANCELLED, booking.getBookingStatus());
+    }
+
+    @Test
+    void settledPaymentIsNoLongerOverdue() {
+        Booking booking = new Booking();
+        booking.changePaymentStatus(PaymentStatus.PENDING);
+        booking.setPaymentOverdue(true);
+        booking.changePaymentStatus(PaymentStatus.PAID);
+        assertFalse(booking.isPaymentOverdue());
+        assertThrows(BookingException.class, () -> booking.changePaymentStatus(PaymentStatus.PENDING));
+    }
+
+    @Test
+    void parsesOnlyKnownValues() {
+        assertEquals(BookingStatus.CANCELLED, BookingStatus.parse("cancelled"));
+        assertEquals(null, BookingStatus.fromValue("Cancelled"));
+        assertThrows(IllegalArgumentException.class, () -> BookingStatus.parse("done"));
+        assertThrows(IllegalArgumentException.class, () -> PaymentStatus.parse("PAID"));
+    }
+
+    private static Set<BookingStatus> targetsOf(BookingStatus from) {
+        Set<BookingStatus> targets = EnumSet.noneOf(BookingStatus.class);
+        for (BookingStatus next : BookingStatus.values()) {
+            if (from.canTransitionTo(next)) {
+                targets.add(next);
+            }
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,196 @@
+package com.beni.backend.bookings.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PricingTableTests {
+
+    @Test
+    void matchesNamesIgnoringCaseAndSpacing() {
+        PricingConfig config = config();
+        config.getLocations().add(location("Nuwara Eliya", 1.6));
+        PricingTable table = PricingTable.compile(config);
+
+        PriceQuote quote = table.quote(1000, "  nuwara \t ELIYA ", null, null);
+
+        assertTrue(quote.isKnownLocation());
+        assertEquals("Nuwara Eliya", quote.getLocation());
+        assertEquals(1600, quote.getTotal());
+        assertEquals("nuwara eliya", PricingTable.normalize(" Nuwara\n\nEliya "));
+    }
+
+    @Test
+    void resolvesAliasesToTheCanonicalName() {
+        PricingConfig config = config();
+        PricingConfig.Location colombo = location("Colombo", 1.0);
+        colombo.setAliases(List.of("Colombo 07", "Kolamba"));
+        config.getLocations().add(colombo);
+        PricingTable table = PricingTable.compile(config);
+
+        assertEquals("Colombo", table.quote(1000, "kolamba", null, null).getLocation());
+        assertEquals("Colombo", table.quote(1000, "COLOMBO  07", null, null).getLocation());
+        assertEquals(List.of("Colombo"), List.copyOf(table.getLocationMultipliers().keySet()));
+        assertEquals("Colombo", table.canonicalName(" kolamba "));
+        assertEquals("Atlantis", table.canonicalName(" Atlantis "));
+    }
+
+    @Test
+    void rejectsAliasesThatCollide() {
+        PricingConfig config = config();
+        PricingConfig.Location galle = location("Galle", 1.4);
+        galle.setAliases(List.of("Fort"));
+        PricingConfig.Location fort = location(" FORT ", 1.2);
+        config.getLocations().addAll(List.of(galle, fort));
+
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(config));
+    }
+
+    @Test
+    void rejectsAnAliasRepeatingItsOwnLocation() {
+        PricingConfig config = config();
+        PricingConfig.Location kandy = location("Kandy", 1.3);
+        kandy.setAliases(List.of("kandy "));
+        config.getLocations().add(kandy);
+
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(config));
+    }
+
+    @Test
+    void pricesUnknownAndMissingLocations() {
+        PricingTable table = PricingTable.compile(config());
+
+        PriceQuote unknown = table.quote(1000, "Atlantis", null, null);
+        assertFalse(unknown.isKnownLocation());
+        assertEquals("Atlantis", unknown.getLocation());
+        assertEquals(1500, unknown.getTotal());
+        assertEquals(1000, table.quote(1000, " ", null, null).getTotal());
+    }
+
+    @Test
+    void takesMultipliersFromZonesUnlessOverridden() {
+        PricingConfig config = config();
+        PricingConfig.Zone north = new PricingConfig.Zone();
+        north.setName("North");
+        north.setMultiplier(1.8);
+        config.getZones().add(north);
+        PricingConfig.Location jaffna = location("Jaffna", null);
+        jaffna.setZone(" north ");
+        PricingConfig.Location mannar = location("Mannar", 2.0);
+        mannar.setZone("North");
+        config.getLocations().addAll(List.of(jaffna, mannar));
+        PricingTable table = PricingTable.compile(config);
+
+        assertEquals(1.8, table.getLocationMultipliers().get("Jaffna"));
+        assertEquals(2.0, table.getLocationMultipliers().get("Mannar"));
+
+        PricingConfig orphan = config();
+        PricingConfig.Location nowhere = location("Nowhere", null);
+        nowhere.setZone("South");
+        orphan.getLocations().add(nowhere);
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(orphan));
+    }
+
+    @Test
+    void seasonsRunOverTheNewYear() {
+        PricingConfig config = config();
+        config.getLocations().add(location("Colombo", 1.0));
+        config.getSeasons().add(season("12-15", "01-15", 20.0));
+        PricingTable table = PricingTable.compile(config);
+
+        assertEquals(20.0, surchargeOn(table, LocalDate.of(2026, 12, 15)));
+        assertEquals(20.0, surchargeOn(table, LocalDate.of(2026, 12, 31)));
+        assertEquals(20.0, surchargeOn(table, LocalDate.of(2027, 1, 1)));
+        assertEquals(20.0, surchargeOn(table, LocalDate.of(2027, 1, 15)));
+        assertEquals(0.0, surchargeOn(table, LocalDate.of(2027, 1, 16)));
+        assertEquals(0.0, surchargeOn(table, LocalDate.of(2026, 12, 14)));
+        assertEquals(0.0, surchargeOn(table, LocalDate.of(2027, 6, 1)));
+    }
+
+    @Test
+    void addsTheWeekdayToTheHighestSeason() {
+        PricingConfig config = config();
+        config.getLocations().add(location("Colombo", 1.0));
+        config.getSeasons().add(season("04-01", "04-30", 10.0));
+        config.getSeasons().add(season("04-10", "04-20", 25.0));
+        PricingConfig.WeekdaySurcharge saturday = new PricingConfig.WeekdaySurcharge();
+        saturday.setDay(DayOfWeek.SATURDAY);
+        saturday.setSurchargePercent(5.0);
+        config.getWeekdaySurcharges().add(saturday);
+        PricingTable table = PricingTable.compile(config);
+
+        // 2027-04-17 is a Saturday inside both seasons
+        assertEquals(30.0, surchargeOn(table, LocalDate.of(2027, 4, 17)));
+        assertEquals(10.0, surchargeOn(table, LocalDate.of(2027, 4, 5)));
+    }
+
+    @Test
+    void appliesPackageRulesBeforePercentages() {
+        PricingConfig config = config();
+        config.getLocations().add(location("Kandy", 1.3));
+        config.getSeasons().add(season("08-01", "08-31", 10.0));
+        PricingConfig.PackageRule rule = new PricingConfig.PackageRule();
+        rule.setPackageName("Wedding Premium");
+        rule.setMultiplier(1.2);
+        rule.setSurcharge(5000.0);
+        config.getPackageRules().add(rule);
+        PricingTable table = PricingTable.compile(config);
+
+        // (100000 * 1.3 * 1.2 + 5000) * 1.1, 2027-08-02 is a Monday
+        PriceQuote quote = table.quote(100000, "Kandy", " wedding  premium", LocalDate.of(2027, 8, 2));
+        assertEquals(177100, quote.getTotal());
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        PricingConfig badSeason = config();
+        badSeason.getSeasons().add(season("13-01", "01-15", 10.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(badSeason));
+
+        PricingConfig badSurcharge = config();
+        badSurcharge.getSeasons().add(season("01-01", "01-15", -100.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(badSurcharge));
+
+        PricingConfig badMultiplier = config();
+        badMultiplier.getLocations().add(location("Matara", 0.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(badMultiplier));
+
+        PricingConfig blankName = config();
+        blankName.getLocations().add(location("  ", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> PricingTable.compile(blankName));
+    }
+
+    private static double surchargeOn(PricingTable table, LocalDate date) {
+        return table.quote(1000, "Colombo", null, date).getSurchargePercent();
+    }
+
+    private static PricingConfig config() {
+        PricingConfig config = new PricingConfig();
+        config.setVersion(1L);
+        config.setDefaultMultiplier(1.5);
+        return config;
+    }
+
+    private static PricingConfig.Location location(String name, Double multiplier) {
+        PricingConfig.Location location = new PricingConfig.Location();
+        location.setName(name);
+        location.setMultiplier(multiplier);
+        return location;
+    }
+
+    private static PricingConfig.Season season(String start, String end, double surchargePercent) {
+        PricingConfig.Season season = new PricingConfig.Season();
+        season.setName(start + ".." + end);
+        season.setStart(start);
+        season.setEnd(end);
+        season.setSurchargePercent(surchargePercent);
+        return season;
+    }
+}
@@ -0,0 +1,65 @@
+package com.beni.backend.bookings.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingBatchServiceTests {
+
+    @Test
+    void splitsPlainRecords() {
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "2", "3")),
+                BookingBatchService.parseCsv("a,b,c\n1,2,3\n"));
+    }
+
+    @Test
+    void keepsTheLastRecordWithoutATrailingNewline() {
+        assertEquals(List.of(List.of("a", "b")), BookingBatchService.parseCsv("a,b"));
+    }
+
+    @Test
+    void acceptsWindowsLineEndings() {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")),
+                BookingBatchService.parseCsv("a,b\r\nc,d\r\n"));
+    }
+
+    @Test
+    void skipsBlankLines() {
+        assertEquals(List.of(List.of("a"), List.of("b")), BookingBatchService.parseCsv("\na\n\n\r\nb\n\n"));
+    }
+
+    @Test
+    void keepsEmptyFields() {
+        assertEquals(List.of(List.of("a", "", "c", "")), BookingBatchService.parseCsv("a,,c,\n"));
+    }
+
+    @Test
+    void keepsARecordOfOneEmptyQuotedField() {
+        assertEquals(List.of(List.of("")), BookingBatchService.parseCsv("\"\"\n"));
+    }
+
+    @Test
+    void readsCommasInsideQuotes() {
+        assertEquals(List.of(List.of("Galle, Fort", "Wedding Premium")),
+                BookingBatchService.parseCsv("\"Galle, Fort\",Wedding Premium\n"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() {
+        assertEquals(List.of(List.of("The \"Classic\" package", "x")),
+                BookingBatchService.parseCsv("\"The \"\"Classic\"\" package\",x\n"));
+    }
+
+    @Test
+    void readsLineBreaksInsideQuotes() {
+        assertEquals(List.of(List.of("line one\nline two", "x"), List.of("y", "z")),
+                BookingBatchService.parseCsv("\"line one\nline two\",x\ny,z\n"));
+    }
+
+    @Test
+    void returnsNothingForEmptyText() {
+        assertEquals(List.of(), BookingBatchService.parseCsv(""));
+    }
+}
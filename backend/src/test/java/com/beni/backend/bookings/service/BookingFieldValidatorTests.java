@@ -0,0 +1,93 @@
+package com.beni.backend.bookings.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hand-written scanners accept exactly what the checks they replaced accepted
+ */
+class BookingFieldValidatorTests {
+
+    // The patterns as they were written in Booking, where \s in the phone literal is a plain space
+    private static final Pattern PHONE = Pattern.compile("^[+]?[(]?[0-9]{3}[)]?[-\s.]?[0-9]{3}[-\s.]?[0-9]{4,6}$");
+    // The Booking email pattern intersected with the @Email rules that were checked alongside it
+    private static final Pattern EMAIL = Pattern.compile("^(?=[^@]{1,64}@)[A-Za-z0-9+_-]+(?:\\.[A-Za-z0-9+_-]+)*"
+            + "@(?=.{1,255}$)[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?"
+            + "(?:\\.[A-Za-z0-9](?:[A-Za-z0-9-]{0,61}[A-Za-z0-9])?)*$");
+    private static final Pattern LOCATION = Pattern.compile("^[a-zA-Z0-9\\s,.-]{5,100}$");
+
+    private static final int RANDOM_INPUTS = 200_000;
+
+    @Test
+    void phoneScannerMatchesThePattern() {
+        assertScannerMatches(PHONE, BookingFieldValidator::isPhoneNumber, List.of(
+                "", "0771234567", "+94771234567", "(077)123-4567", "+(077) 123.456789", "077-123-45678",
+                "077--1234567", "077)1234567", "(0771234567", "07712345", "0771234567890", "077 123 4567\n",
+                "077\t123\t4567", "\u0660\u0667\u0667\u0661\u0662\u0663\u0664\u0665\u0666\u0667"), "0123456789+()-. \t\n\u0660", 16);
+    }
+
+    @Test
+    void emailScannerMatchesThePattern() {
+        assertScannerMatches(EMAIL, BookingFieldValidator::isEmail, List.of(
+                "", "@", "a@", "@b", "a@b", "nimal.perera@example.com", "a+b_c-d.e@x", "a@@b", "a b@c",
+                "a@b\n", "a@b\nc", "a@b\u2028", "a@\u0085", "\u00E4@b", "a@ b c", "a@b@c", "john@ example com", "x@.",
+                ".a@b", "a.@b", "a..b@c", "a@b.", "a@b..c", "a@-b", "a@b-", "a@b-.c", "a@b-c.d",
+                "a".repeat(64) + "@b", "a".repeat(65) + "@b", "a@" + "b".repeat(63), "a@" + "b".repeat(64),
+                "a@" + ("b".repeat(63) + ".").repeat(3) + "b".repeat(63), "a@" + ("b".repeat(63) + ".").repeat(4) + "b"),
+                "aZ9+_.-@ \n\r\u0085\u2028\u2029\u00E4\u00E9", 12);
+    }
+
+    @Test
+    void emailScannerRejectsMalformedDomains() {
+        for (String input : List.of("a@b@c", "john@ example com", "x@.", "a@b.", "a@-b.com")) {
+            assertFalse(BookingFieldValidator.isEmail(input), () -> "Input " + escape(input));
+        }
+        assertTrue(BookingFieldValidator.isEmail("nimal.perera@mail.example-studio.lk"));
+    }
+
+    @Test
+    void locationScannerMatchesThePattern() {
+        assertScannerMatches(LOCATION, BookingFieldValidator::isLocation, List.of(
+                "", "Kandy", "Galle", "Gall", "Galle, Fort", "No. 5, Main St.", "Nuwara-Eliya", "Colombo\t07",
+                "Colombo\n", "Jaffna\u000B", "Colombo/07", "Matara\u00A0", "A".repeat(100), "A".repeat(101),
+                "K\u00E9galle"), "aZ09,.- \t\n\u000B\f\r/\u00A0\u00E9", 110);
+    }
+
+    private static void assertScannerMatches(Pattern pattern, Predicate<String> scanner, List<String> cases,
+                                   String alphabet, int maxLength) {
+        for (String input : cases) {
+            assertEquals(pattern.matcher(input).matches(), scanner.test(input), () -> "Input " + escape(input));
+        }
+        Random random = new Random(pattern.pattern().hashCode());
+        StringBuilder input = new StringBuilder(maxLength);
+        for (int n = 0; n < RANDOM_INPUTS; n++) {
+            input.setLength(0);
+            int length = random.nextInt(maxLength + 1);
+            for (int i = 0; i < length; i++) {
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String value = input.toString();
+            assertEquals(pattern.matcher(value).matches(), scanner.test(value), () -> "Input " + escape(value));
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c < 0x20 || c > 0x7E) {
+                escaped.append(String.format("\\u%04X", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
+}
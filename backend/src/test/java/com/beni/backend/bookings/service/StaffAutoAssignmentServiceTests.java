@@ -0,0 +1,208 @@
+package com.beni.backend.bookings.service;
+
+import com.beni.backend.bookings.model.AutoAssignmentPlan;
+import com.beni.backend.bookings.model.Booking;
+import com.beni.backend.bookings.model.BookingStatus;
+import com.beni.backend.bookings.model.StaffAssignment;
+import com.beni.backend.packages.model.Package;
+import com.beni.backend.packages.service.PackageService;
+import com.beni.backend.staff.model.Staff;
+import com.beni.backend.staff.repository.StaffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StaffAutoAssignmentServiceTests {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    private MongoTemplate mongoTemplate;
+    private StaffRepository staffRepository;
+    private StaffScheduleService staffScheduleService;
+    private PackageService packageService;
+    private StaffAutoAssignmentService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        staffRepository = mock(StaffRepository.class);
+        staffScheduleService = mock(StaffScheduleService.class);
+        packageService = mock(PackageService.class);
+        service = new StaffAutoAssignmentService(mongoTemplate, staffRepository, staffScheduleService, packageService);
+        ReflectionTestUtils.setField(service, "mismatchPenalty", 5000.0);
+        ReflectionTestUtils.setField(service, "maxRounds", 50);
+
+        Package wedding = new Package();
+        wedding.setName("Wedding Premium");
+        wedding.setPackageType("Wedding");
+        wedding.setDurationHours(4);
+        when(packageService.getAllPackages()).thenReturn(List.of(wedding));
+        when(staffScheduleService.durationHours(any())).thenReturn(4);
+    }
+
+    @Test
+    void assignsCheapestMatchingStaff() {
+        givenStaff(staff("a", 50, "Weddings"), staff("b", 30, "Portraits"));
+        givenBookings(booking("w1", DAY.atTime(10, 0)));
+
+        AutoAssignmentPlan plan = service.preview();
+
+        assertEquals(Map.of("w1", "a"), assignments(plan));
+        assertEquals(200, plan.getTotalCost());
+    }
+
+    @Test
+    void overlappingBookingsGoToDifferentStaff() {
+        givenStaff(staff("a", 50, "Weddings"), staff("b", 60, "Weddings"));
+        givenBookings(booking("w1", DAY.atTime(10, 0)), booking("w2", DAY.atTime(12, 0)));
+
+        Map<String, String> assigned = assignments(service.preview());
+
+        assertEquals(2, assigned.size());
+        assertNotEquals(assigned.get("w1"), assigned.get("w2"));
+    }
+
+    @Test
+    void skipsStaffWhoAreAlreadyBooked() {
+        givenStaff(staff("a", 50, "Weddings"), staff("b", 60, "Weddings"));
+        givenCalendars(placement("a", DAY.atTime(13, 0), DAY.atTime(15, 0)));
+        givenBookings(booking("w1", DAY.atTime(10, 0)));
+
+        assertEquals(Map.of("w1", "b"), assignments(service.preview()));
+    }
+
+    @Test
+    void reportsBookingsNobodyCanTake() {
+        givenStaff(staff("a", 50, "Weddings"));
+        givenBookings(booking("w1", DAY.atTime(10, 0)), booking("w2", DAY.atTime(11, 0)));
+
+        AutoAssignmentPlan plan = service.preview();
+
+        assertEquals(1, plan.getAssignments().size());
+        assertEquals(1, plan.getUnassignedBookingIds().size());
+    }
+
+    @Test
+    void movesBlockerToPlaceLeftoverBooking() {
+        // Candidates: x {a, b}, y {a, c}, w {c}. Greedy gives w to c and x to a, leaving y stuck
+        givenStaff(staff("a", 10, null), staff("b", 20, null), staff("c", 30, null));
+        givenCalendars(
+                placement("a", DAY.atTime(14, 0), DAY.atTime(16, 0)),
+                placement("b", DAY.atTime(12, 0), DAY.atTime(16, 0)),
+                placement("c", DAY.atTime(6, 0), DAY.atTime(7, 0)));
+        givenBookings(
+                booking("x", DAY.atTime(6, 0)),
+                booking("y", DAY.atTime(9, 0)),
+                booking("w", DAY.atTime(11, 0)));
+
+        AutoAssignmentPlan plan = service.preview();
+
+        assertEquals(Map.of("x", "b", "y", "a", "w", "c"), assignments(plan));
+        assertTrue(plan.getUnassignedBookingIds().isEmpty());
+    }
+
+    @Test
+    void swapsStaffWhenThatLowersTheCost() {
+        // The earlier studio booking takes the cheap wedding photographer, pushing the wedding onto the other one
+        givenStaff(staff("a", 10, "Weddings"), staff("b", 20, null));
+        Booking studio = booking("x1", DAY.atTime(10, 0));
+        studio.setPackageName("Studio");
+        givenBookings(studio, booking("w1", DAY.atTime(11, 0)));
+
+        AutoAssignmentPlan plan = service.preview();
+
+        assertEquals(Map.of("x1", "b", "w1", "a"), assignments(plan));
+        assertEquals(20 * 4 + 5000 + 10 * 4, plan.getTotalCost());
+    }
+
+    @Test
+    void placesEveryBookingOfASeason() {
+        Random random = new Random(42);
+        List<Staff> staff = new ArrayList<>();
+        String[] specializations = {"Weddings", "Portraits", "Events", null};
+        for (int s = 0; s < 25; s++) {
+            staff.add(staff("s" + s, 20 + random.nextInt(80), specializations[s % specializations.length]));
+        }
+        List<Booking> bookings = new ArrayList<>();
+        for (int d = 0; d < 120; d++) {
+            for (int k = 0; k < 5; k++) {
+                bookings.add(booking("b" + d + "-" + k, DAY.plusDays(d).atTime(6 + random.nextInt(12), 0)));
+            }
+        }
+        givenStaff(staff.toArray(new Staff[0]));
+        givenBookings(bookings.toArray(new Booking[0]));
+
+        AutoAssignmentPlan plan = service.preview();
+
+        assertTrue(plan.getUnassignedBookingIds().isEmpty());
+    }
+
+    private void givenStaff(Staff... staff) {
+        when(staffRepository.findByAvailabilityTrue()).thenReturn(List.of(staff));
+    }
+
+    private void givenBookings(Booking... bookings) {
+        when(mongoTemplate.find(any(Query.class), eq(Booking.class))).thenReturn(List.of(bookings));
+    }
+
+    private void givenCalendars(StaffScheduleService.Placement... placements) {
+        Map<String, List<StaffScheduleService.Placement>> calendars = new HashMap<>();
+        for (StaffScheduleService.Placement placement : placements) {
+            calendars.computeIfAbsent(placement.staffId(), id -> new ArrayList<>()).add(placement);
+        }
+        when(staffScheduleService.calendarsOf(any())).thenReturn(calendars);
+    }
+
+    private static Map<String, String> assignments(AutoAssignmentPlan plan) {
+        Map<String, String> assigned = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (StaffAssignment assignment : plan.getAssignments()) {
+            assertTrue(seen.add(assignment.getBookingId()), "Booking assigned twice");
+            assigned.put(assignment.getBookingId(), assignment.getStaffId());
+        }
+        return assigned;
+    }
+
+    private static Staff staff(String id, int hourlyRate, String specialization) {
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setName(id);
+        staff.setHourlyRate(hourlyRate);
+        staff.setSpecialization(specialization);
+        staff.setAvailability(true);
+        return staff;
+    }
+
+    private static Booking booking(String id, LocalDateTime dateTime) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setDateTime(dateTime);
+        booking.setPackageName("Wedding Premium");
+        booking.setBookingStatus(BookingStatus.UPCOMING);
+        return booking;
+    }
+
+    private static StaffScheduleService.Placement placement(String staffId, LocalDateTime start, LocalDateTime end) {
+        return new StaffScheduleService.Placement("existing-" + staffId + "-" + start, staffId, start, end);
+    }
+}
@@ -11,4 +11,11 @@ export interface Album {
     location: string;
     status: string;
     releaseDate: Date;
-}
\ No newline at end of file
+}
+// Lightweight album projection returned by the favorites endpoint
+export interface AlbumCard {
+    id: string;
+    name: string;
+    coverImage: string;
+    category: string;
+}
@@ -1,7 +1,7 @@
 "use client"
 import { useState, useEffect } from 'react';
 import { useRouter } from 'next/navigation';
-import { Album } from "@/app/Album-Portfolio/types/album";
+import { AlbumCard } from "@/app/Album-Portfolio/types/album";
 import Link from "next/link";
 
 export default function ProfilePage() {
@@ -16,7 +16,7 @@ export default function ProfilePage() {
     const [isLoading, setIsLoading] = useState(true);
     const [hasMounted, setHasMounted] = useState(false);
     const [refreshKey, setRefreshKey] = useState(0);
-    const [favoriteAlbums, setFavoriteAlbums] = useState<Album[]>([]);
+    const [favoriteAlbums, setFavoriteAlbums] = useState<AlbumCard[]>([]);
     const router = useRouter();
 
     useEffect(() => {
@@ -183,14 +183,14 @@ export default function ProfilePage() {
                                 <div className="bg-white rounded-lg shadow-sm overflow-hidden transition-transform transform hover:scale-105 h-[200px] w-full">
                                     <div className="h-[140px] w-full">
                                         <img
-                                            src={album.images?.[0] ? `http://localhost:8080/uploads/${album.images[0]}` : '/images/album-placeholder.jpg'}
+                                            src={album.coverImage ? `http://localhost:8080/uploads/${album.coverImage}?size=thumb` : '/images/album-placeholder.jpg'}
                                             alt={album.name}
                                             className="object-cover w-full h-full"
                                         />
                                     </div>
                                     <div className="p-2 h-[60px]">
                                         <h3 className="text-sm font-medium text-gray-800 truncate">{album.name}</h3>
-                                        <p className="text-xs text-gray-500 mt-1 line-clamp-2">{album.description}</p>
+                                        <p className="text-xs text-gray-500 mt-1 line-clamp-2">{album.category}</p>
                                     </div>
                                 </div>
                             </Link>